@@ -0,0 +1,65 @@
+package com.usermanagement.app.config;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.security.Principal;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+// Authenticated admin, built entirely from signed JWT claims
+public class AdminPrincipal implements Principal {
+
+    private final Long id;
+    private final String email;
+    private final String role;
+    private final int tokenVersion;
+
+    // jti and expiry of the token this request came with, for logout
+    private final String tokenId;
+    private final Instant tokenExpiresAt;
+
+    public AdminPrincipal(Long id, String email, String role, int tokenVersion,
+                          String tokenId, Instant tokenExpiresAt) {
+        this.id = id;
+        this.email = email;
+        this.role = role;
+        this.tokenVersion = tokenVersion;
+        this.tokenId = tokenId;
+        this.tokenExpiresAt = tokenExpiresAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public String getRole() {
+        return role;
+    }
+
+    public int getTokenVersion() {
+        return tokenVersion;
+    }
+
+    public String getTokenId() {
+        return tokenId;
+    }
+
+    public Instant getTokenExpiresAt() {
+        return tokenExpiresAt;
+    }
+
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return List.of(new SimpleGrantedAuthority("ROLE_" + role));
+    }
+
+    @Override
+    public String getName() {
+        return email;
+    }
+}
@@ -1,14 +1,20 @@
 package com.usermanagement.app.config;
 
+import com.usermanagement.app.service.TokenRevocationService;
+import com.usermanagement.app.service.TokenVersionService;
+import com.usermanagement.app.util.SampledLogger;
+
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.LoggerFactory;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -18,12 +24,24 @@ import java.io.IOException;
 @Component
 public class JwtFilter extends OncePerRequestFilter {
 
+    // One line per 10s at most, a bad client can send a bad token every request
+    private static final SampledLogger log =
+            new SampledLogger(LoggerFactory.getLogger(JwtFilter.class), 10_000);
+
     private final JwtUtil jwtUtil;
-    private final UserDetailsService userDetailsService;
+    private final TokenVersionService tokenVersionService;
+    private final TokenRevocationService revocationService;
+
+    private final Counter authenticated;
+    private final Counter rejected;
 
-    public JwtFilter(JwtUtil jwtUtil, UserDetailsService userDetailsService) {
+    public JwtFilter(JwtUtil jwtUtil, TokenVersionService tokenVersionService,
+                     TokenRevocationService revocationService, MeterRegistry registry) {
         this.jwtUtil = jwtUtil;
-        this.userDetailsService = userDetailsService;
+        this.tokenVersionService = tokenVersionService;
+        this.revocationService = revocationService;
+        this.authenticated = registry.counter("jwt.filter", "outcome", "authenticated");
+        this.rejected = registry.counter("jwt.filter", "outcome", "rejected");
     }
 
     @Override
@@ -37,19 +55,28 @@ public class JwtFilter extends OncePerRequestFilter {
         if (header != null && header.startsWith("Bearer ")) {
 
             String token = header.substring(7);
-            String email = jwtUtil.extractEmail(token);
 
-            if (email != null &&
-                    SecurityContextHolder.getContext().getAuthentication() == null) {
+            // Signature and expiry are checked exactly once here
+            Claims claims = jwtUtil.verify(token);
 
-                UserDetails userDetails =
-                        userDetailsService.loadUserByUsername(email);
+            if (claims == null) {
+                rejected.increment();
+                log.warn("Rejected invalid token for {} {}",
+                        request.getMethod(), request.getRequestURI());
 
-                if (jwtUtil.validateToken(token, userDetails)) {
+            } else if (SecurityContextHolder.getContext().getAuthentication() == null) {
+
+                // Identity comes from the token itself, no user lookup
+                AdminPrincipal principal = jwtUtil.toPrincipal(claims);
+
+                // Revocation check is a Bloom filter probe unless the jti may be revoked
+                if (principal != null
+                        && tokenVersionService.isCurrent(principal.getId(), principal.getTokenVersion())
+                        && !revocationService.isRevoked(principal.getTokenId(), principal.getTokenExpiresAt())) {
 
                     UsernamePasswordAuthenticationToken auth =
                             new UsernamePasswordAuthenticationToken(
-                                    userDetails, null, userDetails.getAuthorities());
+                                    principal, null, principal.getAuthorities());
 
                     auth.setDetails(
                             new WebAuthenticationDetailsSource()
@@ -57,6 +84,12 @@ public class JwtFilter extends OncePerRequestFilter {
 
                     SecurityContextHolder.getContext()
                             .setAuthentication(auth);
+                    authenticated.increment();
+
+                } else {
+                    rejected.increment();
+                    log.warn("Rejected revoked token or stale or missing claims, user {}",
+                            principal == null ? null : principal.getId());
                 }
             }
         }
@@ -1,52 +1,200 @@
 package com.usermanagement.app.config;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.usermanagement.app.entity.LoginUser;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
 import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Base64;
 import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 @Component
 public class JwtUtil {
 
     private static final String SECRET = "MyJwtSecretKeyForUserManagementApplication2026@SecureKey";
     private static final long EXPIRATION = 1000 * 60 * 60 * 24; // 24 hours
+    private static final long CLOCK_SKEW_SECONDS = 60;
 
-    private Key getSigningKey() {
-        return Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+    // Custom claims carried by every token
+    private static final String CLAIM_USER_ID = "uid";
+    private static final String CLAIM_ROLE = "role";
+    private static final String CLAIM_VERSION = "ver";
+
+    // Max number of verified tokens remembered at once
+    private static final int VERIFIED_CACHE_SIZE = 10_000;
+
+    // Key and parser are immutable and thread-safe, so build them once
+    private final Key signingKey =
+            Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+
+    private final Clock clock;
+    private final JwtParser parser;
+
+    // Token digest -> claims of a token whose signature was already checked.
+    // Each entry lives until its token expires; when full, the least useful
+    // entries are evicted one by one instead of dropping the whole cache.
+    private final Cache<String, Claims> verified;
+
+    private final Counter cacheHits;
+    private final Counter cacheMisses;
+    private final Counter invalidTokens;
+    private final Timer parseTimer;
+
+    @Autowired
+    public JwtUtil(MeterRegistry registry) {
+        this(registry, Clock.systemUTC());
+    }
+
+    public JwtUtil(MeterRegistry registry, Clock clock) {
+        this.clock = clock;
+
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .setAllowedClockSkewSeconds(CLOCK_SKEW_SECONDS)
+                .setClock(() -> new Date(clock.millis()))
+                .build();
+
+        this.verified = Caffeine.newBuilder()
+                .maximumSize(VERIFIED_CACHE_SIZE)
+                .expireAfter(new Expiry<String, Claims>() {
+                    @Override
+                    public long expireAfterCreate(String key, Claims claims, long now) {
+                        return untilExpired(claims).toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, Claims claims, long now, long remaining) {
+                        return remaining;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, Claims claims, long now, long remaining) {
+                        return remaining;
+                    }
+                })
+                .ticker(() -> TimeUnit.MILLISECONDS.toNanos(clock.millis()))
+                .build();
+
+        this.cacheHits = registry.counter("jwt.verify", "result", "hit");
+        this.cacheMisses = registry.counter("jwt.verify", "result", "miss");
+        this.invalidTokens = registry.counter("jwt.verify", "result", "invalid");
+        this.parseTimer = Timer.builder("jwt.parse")
+                .description("Full signature check of a token not found in the cache")
+                .register(registry);
+
+        registry.gauge("jwt.verify.cache.size", Tags.empty(), verified, Cache::estimatedSize);
     }
 
-    public String generateToken(String email) {
+    public String generateToken(LoginUser user) {
         return Jwts.builder()
-                .setSubject(email)
-                .setIssuedAt(new Date())
-                .setExpiration(new Date(System.currentTimeMillis() + EXPIRATION))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                // jti, lets a single token be revoked on logout
+                .setId(UUID.randomUUID().toString())
+                .setSubject(user.getEmail())
+                .claim(CLAIM_USER_ID, user.getId())
+                .claim(CLAIM_ROLE, user.getRole())
+                .claim(CLAIM_VERSION, user.getTokenVersion())
+                .setIssuedAt(new Date(clock.millis()))
+                .setExpiration(new Date(clock.millis() + EXPIRATION))
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
+    // Parse and verify a token once; repeated calls for the same token are
+    // served from the cache until the token expires. Returns null if invalid.
+    public Claims verify(String token) {
+
+        String key = digest(token);
+
+        // Entries expire with their token, so a hit is always still valid
+        Claims cached = verified.getIfPresent(key);
+        if (cached != null) {
+            cacheHits.increment();
+            return cached;
+        }
+
+        cacheMisses.increment();
+
+        Claims claims;
+        long start = System.nanoTime();
+        try {
+            claims = parseClaims(token);
+        } catch (JwtException | IllegalArgumentException ex) {
+            invalidTokens.increment();
+            return null;
+        } finally {
+            parseTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+
+        if (claims.getExpiration() != null) {
+            verified.put(key, claims);
+        }
+        return claims;
+    }
+
+    // Build the principal from verified claims, null if any claim is missing
+    public AdminPrincipal toPrincipal(Claims claims) {
+
+        Number userId = claims.get(CLAIM_USER_ID, Number.class);
+        String role = claims.get(CLAIM_ROLE, String.class);
+        Number version = claims.get(CLAIM_VERSION, Number.class);
+
+        if (claims.getSubject() == null || userId == null
+                || role == null || version == null) {
+            return null;
+        }
+
+        return new AdminPrincipal(
+                userId.longValue(), claims.getSubject(), role, version.intValue(),
+                claims.getId(),
+                claims.getExpiration() == null ? null : claims.getExpiration().toInstant());
+    }
+
     public String extractEmail(String token) {
-        return parseClaims(token).getSubject();
+        Claims claims = verify(token);
+        return claims == null ? null : claims.getSubject();
     }
 
     public boolean validateToken(String token, UserDetails userDetails) {
-        return extractEmail(token).equals(userDetails.getUsername())
-                && !isExpired(token);
+        Claims claims = verify(token);
+        return claims != null
+                && claims.getSubject().equals(userDetails.getUsername());
     }
 
-    private boolean isExpired(String token) {
-        return parseClaims(token).getExpiration().before(new Date());
+    // Same leeway the parser allows, so the cache never outlives a token it would accept
+    private Duration untilExpired(Claims claims) {
+        long expiresAt = claims.getExpiration().getTime() + CLOCK_SKEW_SECONDS * 1000;
+        return Duration.ofMillis(Math.max(0, expiresAt - clock.millis()));
     }
 
     private Claims parseClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .setAllowedClockSkewSeconds(60)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return parser.parseClaimsJws(token).getBody();
+    }
+
+    // SHA-256 of the token, so the cache never holds the raw credential
+    private static String digest(String token) {
+        try {
+            MessageDigest md = MessageDigest.getInstance("SHA-256");
+            byte[] hash = md.digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 not available", ex);
+        }
     }
 }
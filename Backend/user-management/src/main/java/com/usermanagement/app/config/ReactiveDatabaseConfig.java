@@ -0,0 +1,45 @@
+package com.usermanagement.app.config;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+// R2DBC access for the reactive read endpoints, next to the JDBC datasource
+@Configuration
+public class ReactiveDatabaseConfig {
+
+    // Kept out of the context: a ConnectionFactory bean would switch off the
+    // DataSource auto-configuration that JPA runs on
+    private final ConnectionPool pool;
+
+    public ReactiveDatabaseConfig(@Value("${reactive.r2dbc.url}") String url,
+                                  @Value("${reactive.r2dbc.username}") String username,
+                                  @Value("${reactive.r2dbc.password}") String password,
+                                  @Value("${reactive.r2dbc.max-connections:10}") int maxConnections) {
+
+        ConnectionFactoryOptions options = ConnectionFactoryOptions.parse(url).mutate()
+                .option(ConnectionFactoryOptions.USER, username)
+                .option(ConnectionFactoryOptions.PASSWORD, password)
+                .build();
+
+        pool = new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(options))
+                .maxSize(maxConnections)
+                .build());
+    }
+
+    @Bean
+    public DatabaseClient reactiveDatabaseClient() {
+        return DatabaseClient.create(pool);
+    }
+
+    @PreDestroy
+    public void close() {
+        pool.dispose();
+    }
+}
@@ -1,6 +1,12 @@
 package com.usermanagement.app.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -12,18 +18,26 @@ import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.security.config.http.SessionCreationPolicy;
 
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
+import org.springframework.web.context.support.WebApplicationContextUtils;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @Configuration
 @EnableMethodSecurity
 public class SecurityConfig {
 
+    // Open on the management server only; never served on the public port
+    private static final Set<String> MANAGEMENT_ENDPOINTS = Set.of("/actuator/health", "/actuator/prometheus");
+
     @Autowired
     private JwtFilter jwtFilter;
 
@@ -35,6 +49,14 @@ public class SecurityConfig {
                 .csrf(csrf -> csrf.disable())
 
                 .authorizeHttpRequests(auth -> auth
+                        // Reactive endpoints finish on an async dispatch that
+                        // was already authorized as a normal request
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+                        // Scraped by Prometheus / probed by the orchestrator. Matched
+                        // first: the path patterns below only know the main servlet.
+                        .requestMatchers(request -> onManagementServer(request)
+                                && MANAGEMENT_ENDPOINTS.contains(request.getRequestURI())).permitAll()
+                        .requestMatchers(SecurityConfig::onManagementServer).authenticated()
                         .requestMatchers(
                                 "/api/auth/login",
                                 "/api/auth/register",
@@ -51,8 +73,11 @@ public class SecurityConfig {
 
                 .exceptionHandling(ex -> ex
                         .authenticationEntryPoint((req, res, excep) -> {
+                            // Same shape as ErrorResponse
                             res.setStatus(401);
-                            res.getWriter().write("Unauthorized or Invalid Token");
+                            res.setContentType("application/json");
+                            res.getWriter().write("{\"status\":401,\"code\":\"UNAUTHORIZED\","
+                                    + "\"message\":\"Unauthorized or Invalid Token\"}");
                         })
                 );
 
@@ -65,16 +90,39 @@ public class SecurityConfig {
         return http.build();
     }
 
+    // The management server runs in a child context of its own
+    private static boolean onManagementServer(HttpServletRequest request) {
+        ApplicationContext context = WebApplicationContextUtils.getWebApplicationContext(request.getServletContext());
+        return WebServerApplicationContext.hasServerNamespace(context, "management");
+    }
+
     // Authentication manager
     @Bean
     public AuthenticationManager authenticationManager(AuthenticationConfiguration config) throws Exception {
         return config.getAuthenticationManager();
     }
 
-    // Password encoder
+    // Password encoder: new hashes use the configured algorithm and cost,
+    // older ones (including unprefixed BCrypt) are re-encoded on next login
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public BoundedPasswordEncoder passwordEncoder(
+            @Value("${password.hash.algorithm:bcrypt}") String algorithm,
+            @Value("${password.hash.bcrypt-strength:10}") int bcryptStrength,
+            @Value("${password.hash.threads:0}") int threads,
+            @Value("${password.hash.queue-capacity:256}") int queueCapacity,
+            MeterRegistry registry) {
+
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(bcryptStrength);
+
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder(algorithm, Map.of(
+                "bcrypt", bcrypt,
+                "argon2", Argon2PasswordEncoder.defaultsForSpringSecurity_v5_8()
+        ));
+        encoder.setDefaultPasswordEncoderForMatches(bcrypt);
+
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+
+        return new BoundedPasswordEncoder(encoder, poolSize, queueCapacity, registry);
     }
 
     // CORS configuration
@@ -84,6 +132,9 @@ public class SecurityConfig {
         config.setAllowedOrigins(List.of("*"));
         config.setAllowedMethods(List.of("GET","POST","PUT","DELETE","OPTIONS"));
         config.setAllowedHeaders(List.of("*"));
+        // Lets browser clients read the list ETag for If-None-Match, and
+        // whether an add was replayed from its Idempotency-Key
+        config.setExposedHeaders(List.of("ETag", "Idempotent-Replayed"));
         config.setAllowCredentials(false);
 
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
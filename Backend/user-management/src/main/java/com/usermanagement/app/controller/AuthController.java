@@ -1,20 +1,41 @@
 package com.usermanagement.app.controller;
 
+import com.usermanagement.app.dto.BulkDeleteRequestDTO;
+import com.usermanagement.app.dto.ErrorResponse;
+import com.usermanagement.app.dto.ImportResultDTO;
+import com.usermanagement.app.dto.ManagedUserDTO;
+import com.usermanagement.app.dto.UserPageDTO;
 import com.usermanagement.app.entity.LoginUser;
-import com.usermanagement.app.entity.ManagedUser;
+import com.usermanagement.app.exception.ValidationException;
 import com.usermanagement.app.service.AuthUserService;
+import com.usermanagement.app.service.IdempotencyStore;
+import com.usermanagement.app.service.LoginThrottle;
 import com.usermanagement.app.service.ManagedUserService;
+import com.usermanagement.app.service.PasswordResetResult;
+import com.usermanagement.app.service.TokenRevocationService;
+import com.usermanagement.app.service.UserExportService;
+import com.usermanagement.app.service.UserImportService;
+import com.usermanagement.app.config.AdminPrincipal;
 import com.usermanagement.app.config.JwtUtil;
 
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Supplier;
 
 @RestController
 @CrossOrigin("*")
@@ -23,17 +44,32 @@ public class AuthController {
 
     private final AuthUserService authService;
     private final ManagedUserService managedService;
+    private final UserExportService exportService;
+    private final UserImportService importService;
     private final JwtUtil jwtUtil;
     private final AuthenticationManager authenticationManager;
+    private final LoginThrottle loginThrottle;
+    private final IdempotencyStore idempotencyStore;
+    private final TokenRevocationService revocationService;
 
     public AuthController(AuthUserService authService,
                           ManagedUserService managedService,
+                          UserExportService exportService,
+                          UserImportService importService,
                           JwtUtil jwtUtil,
-                          AuthenticationManager authenticationManager) {
+                          AuthenticationManager authenticationManager,
+                          LoginThrottle loginThrottle,
+                          IdempotencyStore idempotencyStore,
+                          TokenRevocationService revocationService) {
         this.authService = authService;
         this.managedService = managedService;
+        this.exportService = exportService;
+        this.importService = importService;
         this.jwtUtil = jwtUtil;
         this.authenticationManager = authenticationManager;
+        this.loginThrottle = loginThrottle;
+        this.idempotencyStore = idempotencyStore;
+        this.revocationService = revocationService;
     }
 
     // REGISTER
@@ -50,7 +86,12 @@ public class AuthController {
 
     // LOGIN
     @PostMapping("/login")
-    public ResponseEntity<?> login(@RequestBody Map<String,String> body) {
+    public ResponseEntity<?> login(@RequestBody Map<String,String> body,
+                                   HttpServletRequest request) {
+
+        // Rejected before any password hashing or user lookup
+        loginThrottle.check(LoginThrottle.Action.LOGIN,
+                body.get("email"), request.getRemoteAddr());
 
         Authentication auth = authenticationManager.authenticate(
                 new UsernamePasswordAuthenticationToken(
@@ -61,10 +102,10 @@ public class AuthController {
 
         SecurityContextHolder.getContext().setAuthentication(auth);
 
-        String token = jwtUtil.generateToken(body.get("email"));
-
         LoginUser user = authService.findByEmail(body.get("email"));
 
+        String token = jwtUtil.generateToken(user);
+
         return ResponseEntity.ok(
                 Map.of(
                         "token", token,
@@ -75,63 +116,172 @@ public class AuthController {
         );
     }
 
-    // ADD USER
-    @PostMapping("/users/add")
-    public ResponseEntity<ManagedUser> addUser(@RequestBody Map<String,String> body,
-                                               Authentication authentication) {
+    // LOGOUT (revokes only the token this request came with)
+    @PostMapping("/logout")
+    public ResponseEntity<String> logout(@AuthenticationPrincipal AdminPrincipal admin) {
 
-        String email = authentication.getName();
-        LoginUser admin = authService.findByEmail(email);
+        if (admin.getTokenId() == null) {
+            throw new ValidationException("TOKEN_NOT_REVOCABLE",
+                    "Token has no id, use /logout-all to revoke it");
+        }
 
-        return ResponseEntity.ok(
+        revocationService.revoke(admin.getTokenId(), admin.getTokenExpiresAt());
+
+        return ResponseEntity.ok("Logged out");
+    }
+
+    // LOGOUT ALL SESSIONS (revokes every token issued to this admin so far)
+    @PostMapping("/logout-all")
+    public ResponseEntity<String> logoutAll(@AuthenticationPrincipal AdminPrincipal admin) {
+
+        authService.logoutAll(admin.getId());
+
+        return ResponseEntity.ok("Logged out of all sessions");
+    }
+
+    // ADD USER (retries with the same Idempotency-Key replay the first response)
+    @PostMapping("/users/add")
+    public ResponseEntity<ManagedUserDTO> addUser(@RequestBody Map<String,String> body,
+                                                  @RequestHeader(value = IdempotencyStore.HEADER, required = false) String idempotencyKey,
+                                                  @AuthenticationPrincipal AdminPrincipal admin) {
+
+        Supplier<ManagedUserDTO> add = () -> ManagedUserDTO.of(
                 managedService.addUser(
                         body.get("name"),
                         body.get("email"),
                         admin.getId()
                 )
         );
+
+        if (idempotencyKey == null) {
+            return ResponseEntity.ok(add.get());
+        }
+
+        IdempotencyStore.Result<ManagedUserDTO> result = idempotencyStore.execute(
+                admin.getId(), idempotencyKey,
+                IdempotencyStore.fingerprint(body.get("name"), body.get("email")), add);
+
+        return ResponseEntity.ok()
+                .header(IdempotencyStore.REPLAYED_HEADER, String.valueOf(result.replayed()))
+                .body(result.value());
     }
 
-    // LIST USERS
+    // LIST USERS (keyset paginated, 304 when the client's ETag is current)
     @GetMapping("/users/list")
-    public ResponseEntity<List<ManagedUser>> listUsers(Authentication authentication) {
+    public ResponseEntity<UserPageDTO> listUsers(@RequestParam(required = false) String cursor,
+                                                 @RequestParam(required = false) Integer limit,
+                                                 @AuthenticationPrincipal AdminPrincipal admin,
+                                                 WebRequest webRequest) {
 
-        String email = authentication.getName();
-        LoginUser admin = authService.findByEmail(email);
+        String etag = managedService.listETag(admin.getId(), cursor, limit);
+
+        // Sets 304 and the ETag header; no query, no body
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(managedService.listUsers(admin.getId(), cursor, limit));
+    }
+
+    // SEARCH USERS (typeahead by name or email substring)
+    @GetMapping("/users/search")
+    public ResponseEntity<List<ManagedUserDTO>> searchUsers(@RequestParam String q,
+                                                            @RequestParam(required = false) Integer limit,
+                                                            @AuthenticationPrincipal AdminPrincipal admin) {
 
         return ResponseEntity.ok(
-                managedService.listUsers(admin.getId())
+                managedService.searchUsers(admin.getId(), q, limit)
         );
     }
 
+    // EXPORT USERS (streamed as NDJSON or CSV)
+    @GetMapping("/users/export")
+    public void exportUsers(@RequestParam(defaultValue = "ndjson") String format,
+                            @AuthenticationPrincipal AdminPrincipal admin,
+                            HttpServletResponse response) throws IOException {
+
+        UserExportService.Format exportFormat = UserExportService.Format.of(format);
+
+        response.setContentType(exportFormat.getContentType());
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"users." + exportFormat.getExtension() + "\"");
+
+        exportService.export(admin.getId(), exportFormat, response.getOutputStream());
+    }
+
+    // IMPORT USERS (CSV body, JSON array or NDJSON; a CSV or NDJSON export imports as is)
+    @PostMapping(value = "/users/import",
+            consumes = {"text/csv", MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<ImportResultDTO> importUsers(@AuthenticationPrincipal AdminPrincipal admin,
+                                                       HttpServletRequest request) throws IOException {
+
+        boolean csv = MediaType.parseMediaType(request.getContentType())
+                .isCompatibleWith(MediaType.parseMediaType("text/csv"));
+
+        return ResponseEntity.ok(csv
+                ? importService.importCsv(admin.getId(), request.getInputStream())
+                : importService.importJson(admin.getId(), request.getInputStream()));
+    }
+
     // DELETE USER
     @DeleteMapping("/users/delete/{id}")
     public ResponseEntity<String> deleteUser(@PathVariable Long id,
-                                             Authentication authentication) {
-
-        String email = authentication.getName();
-        LoginUser admin = authService.findByEmail(email);
+                                             @AuthenticationPrincipal AdminPrincipal admin) {
 
         managedService.deleteUser(id, admin.getId());
 
         return ResponseEntity.ok("User deleted successfully");
     }
 
+    // BULK DELETE USERS (by ids or email domain)
+    @PostMapping("/users/delete/bulk")
+    public ResponseEntity<Map<String,Integer>> deleteUsers(@RequestBody BulkDeleteRequestDTO body,
+                                                           @AuthenticationPrincipal AdminPrincipal admin) {
+
+        int deleted;
+
+        if (body.getIds() != null && !body.getIds().isEmpty()) {
+            deleted = managedService.deleteUsers(admin.getId(), body.getIds());
+        } else if (body.getEmailDomain() != null) {
+            deleted = managedService.deleteUsersByEmailDomain(admin.getId(), body.getEmailDomain());
+        } else {
+            throw new ValidationException("BULK_DELETE_TARGET_REQUIRED", "Provide ids or emailDomain");
+        }
+
+        return ResponseEntity.ok(Map.of("deleted", deleted));
+    }
+
     // FORGOT PASSWORD
     @PostMapping("/forgot-password")
-    public ResponseEntity<String> forgotPassword(@RequestBody Map<String,String> body) {
+    public ResponseEntity<String> forgotPassword(@RequestBody Map<String,String> body,
+                                                 HttpServletRequest request) {
+
+        loginThrottle.check(LoginThrottle.Action.FORGOT_PASSWORD,
+                body.get("email"), request.getRemoteAddr());
+
         return ResponseEntity.ok(authService.sendOtp(body.get("email")));
     }
 
     // RESET PASSWORD
     @PostMapping("/reset-password")
-    public ResponseEntity<String> resetPassword(@RequestBody Map<String,String> body) {
-        return ResponseEntity.ok(
-                authService.resetPassword(
-                        body.get("email"),
-                        body.get("otp"),
-                        body.get("newPassword")
-                )
+    public ResponseEntity<?> resetPassword(@RequestBody Map<String,String> body) {
+
+        PasswordResetResult result = authService.resetPassword(
+                body.get("email"),
+                body.get("otp"),
+                body.get("newPassword")
         );
+
+        if (result == PasswordResetResult.RESET) {
+            return ResponseEntity.ok(result.getMessage());
+        }
+
+        // Same body as a thrown error, without throwing one
+        return ResponseEntity.status(result.getStatus()).body(
+                new ErrorResponse(result.getStatus().value(), result.name(), result.getMessage()));
     }
 }
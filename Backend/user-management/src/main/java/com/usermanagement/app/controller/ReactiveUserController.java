@@ -0,0 +1,48 @@
+package com.usermanagement.app.controller;
+
+import com.usermanagement.app.config.AdminPrincipal;
+import com.usermanagement.app.dto.ManagedUserDTO;
+import com.usermanagement.app.dto.UserPageDTO;
+import com.usermanagement.app.service.ReactiveUserService;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// Read-only twin of the /users endpoints for high fan-out polling. Runs on the
+// same servlet stack and JwtFilter; Spring MVC subscribes to the returned R2DBC
+// publishers and completes the request asynchronously, so the request thread
+// goes back to Tomcat while the query runs.
+@RestController
+@RequestMapping("/api/auth/reactive/users")
+@CrossOrigin("*")
+public class ReactiveUserController {
+
+    private final ReactiveUserService reactiveService;
+
+    public ReactiveUserController(ReactiveUserService reactiveService) {
+        this.reactiveService = reactiveService;
+    }
+
+    // STREAM USERS (one JSON object per line, written as the client reads)
+    @GetMapping(produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    public Flux<ManagedUserDTO> streamUsers(@AuthenticationPrincipal AdminPrincipal admin) {
+        return reactiveService.streamUsers(admin.getId());
+    }
+
+    // LIST USERS (same keyset pages as /users/list)
+    @GetMapping("/page")
+    public Mono<UserPageDTO> listUsers(@RequestParam(required = false) String cursor,
+                                       @RequestParam(required = false) Integer limit,
+                                       @AuthenticationPrincipal AdminPrincipal admin) {
+        return reactiveService.listUsers(admin.getId(), cursor, limit);
+    }
+
+    // GET USER
+    @GetMapping("/{id}")
+    public Mono<ManagedUserDTO> getUser(@PathVariable Long id,
+                                        @AuthenticationPrincipal AdminPrincipal admin) {
+        return reactiveService.getUser(admin.getId(), id);
+    }
+}
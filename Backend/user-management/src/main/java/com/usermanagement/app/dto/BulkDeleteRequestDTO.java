@@ -0,0 +1,27 @@
+package com.usermanagement.app.dto;
+
+import java.util.List;
+
+// Either ids or emailDomain selects the users to delete
+public class BulkDeleteRequestDTO {
+
+    private List<Long> ids;
+
+    private String emailDomain;
+
+    public List<Long> getIds() {
+        return ids;
+    }
+
+    public void setIds(List<Long> ids) {
+        this.ids = ids;
+    }
+
+    public String getEmailDomain() {
+        return emailDomain;
+    }
+
+    public void setEmailDomain(String emailDomain) {
+        this.emailDomain = emailDomain;
+    }
+}
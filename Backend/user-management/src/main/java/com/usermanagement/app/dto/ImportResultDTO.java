@@ -0,0 +1,71 @@
+package com.usermanagement.app.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class ImportResultDTO {
+
+    private int accepted;
+    private int rejected;
+    private final List<RowResult> rows = new ArrayList<>();
+
+    public void accept(int row, String email, Long id) {
+        accepted++;
+        rows.add(new RowResult(row, email, true, id, null));
+    }
+
+    public void reject(int row, String email, String message) {
+        rejected++;
+        rows.add(new RowResult(row, email, false, null, message));
+    }
+
+    public int getAccepted() {
+        return accepted;
+    }
+
+    public int getRejected() {
+        return rejected;
+    }
+
+    public List<RowResult> getRows() {
+        return rows;
+    }
+
+    // Outcome of one input row (rows are numbered from 1)
+    public static class RowResult {
+
+        private final int row;
+        private final String email;
+        private final boolean accepted;
+        private final Long id;
+        private final String message;
+
+        public RowResult(int row, String email, boolean accepted, Long id, String message) {
+            this.row = row;
+            this.email = email;
+            this.accepted = accepted;
+            this.id = id;
+            this.message = message;
+        }
+
+        public int getRow() {
+            return row;
+        }
+
+        public String getEmail() {
+            return email;
+        }
+
+        public boolean isAccepted() {
+            return accepted;
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+    }
+}
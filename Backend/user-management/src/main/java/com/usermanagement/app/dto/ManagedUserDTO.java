@@ -0,0 +1,32 @@
+package com.usermanagement.app.dto;
+
+import com.usermanagement.app.entity.ManagedUser;
+
+public class ManagedUserDTO {
+
+    private final Long id;
+    private final String name;
+    private final String email;
+
+    public ManagedUserDTO(Long id, String name, String email) {
+        this.id = id;
+        this.name = name;
+        this.email = email;
+    }
+
+    public static ManagedUserDTO of(ManagedUser user) {
+        return new ManagedUserDTO(user.getId(), user.getName(), user.getEmail());
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+}
@@ -0,0 +1,24 @@
+package com.usermanagement.app.dto;
+
+import java.util.List;
+
+public class UserPageDTO {
+
+    private final List<ManagedUserDTO> items;
+
+    // Opaque cursor for the next page, null on the last page
+    private final String nextCursor;
+
+    public UserPageDTO(List<ManagedUserDTO> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<ManagedUserDTO> getItems() {
+        return items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+}
@@ -1,8 +1,8 @@
 package com.usermanagement.app.entity;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.usermanagement.app.util.EmailAddress;
 import jakarta.persistence.*;
-import java.time.LocalDateTime;
 
 @Entity
 @Table(
@@ -34,12 +34,12 @@ public class LoginUser {
     @Column(nullable = false, length = 20)
     private String role = "ADMIN";
 
-    // OTP
-    @Column(length = 6)
-    private String otp;
-
-    // OTP expiry
-    private LocalDateTime otpExpiry;
+    // Bumped to invalidate every token issued before it. Only ever changed by
+    // LoginUserRepository.incrementTokenVersion, so saving a stale entity
+    // cannot write an older version back
+    @JsonIgnore
+    @Column(nullable = false, updatable = false)
+    private int tokenVersion = 0;
 
     // ---------------- GETTERS & SETTERS ----------------
 
@@ -57,7 +57,7 @@ public class LoginUser {
 
     // Always store email lowercase
     public void setEmail(String email) {
-        this.email = email.toLowerCase();
+        this.email = EmailAddress.of(email).value();
     }
 
     public String getName() {
@@ -85,19 +85,7 @@ public class LoginUser {
         this.role = role;
     }
 
-    public String getOtp() {
-        return otp;
-    }
-
-    public void setOtp(String otp) {
-        this.otp = otp;
-    }
-
-    public LocalDateTime getOtpExpiry() {
-        return otpExpiry;
-    }
-
-    public void setOtpExpiry(LocalDateTime otpExpiry) {
-        this.otpExpiry = otpExpiry;
+    public int getTokenVersion() {
+        return tokenVersion;
     }
 }
@@ -1,26 +1,40 @@
 package com.usermanagement.app.entity;
 
+import com.usermanagement.app.util.EmailAddress;
 import jakarta.persistence.*;
 
 @Entity
 @Table(
         name = "managed_users",
         uniqueConstraints = {
-                @UniqueConstraint(columnNames = {"email","admin_id"})
+                @UniqueConstraint(name = ManagedUser.EMAIL_ADMIN_CONSTRAINT, columnNames = {"email","admin_id"})
+        },
+        indexes = {
+                // Serves keyset pages: admin_id = ? AND id > ? ORDER BY id
+                @Index(name = "idx_managed_users_admin_id", columnList = "admin_id, id")
         }
 )
 public class ManagedUser {
 
+    // Column sizes, checked before insert so an overlong value is a 400, not a database error
+    public static final int NAME_LENGTH = 100;
+    public static final int EMAIL_LENGTH = 100;
+
+    // One email per admin, enforced by the database
+    public static final String EMAIL_ADMIN_CONSTRAINT = "uk_managed_users_email_admin";
+
+    // Pooled sequence so Hibernate can batch inserts
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "managed_users_seq")
+    @SequenceGenerator(name = "managed_users_seq", sequenceName = "managed_users_seq", allocationSize = 50)
     private Long id;
 
     // User name
-    @Column(nullable = false, length = 100)
+    @Column(nullable = false, length = NAME_LENGTH)
     private String name;
 
     // User email
-    @Column(nullable = false, length = 100)
+    @Column(nullable = false, length = EMAIL_LENGTH)
     private String email;
 
     // Admin who created this user
@@ -51,7 +65,7 @@ public class ManagedUser {
 
     // Always store email lowercase
     public void setEmail(String email) {
-        this.email = email.toLowerCase();
+        this.email = EmailAddress.of(email).value();
     }
 
     public Long getAdminId() {
@@ -0,0 +1,98 @@
+package com.usermanagement.app.entity;
+
+import jakarta.persistence.*;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(
+        name = "otp_tokens",
+        indexes = {
+                @Index(name = "idx_otp_tokens_expires_at", columnList = "expiresAt")
+        }
+)
+public class OtpToken implements Persistable<String> {
+
+    // Canonical email the code was issued to
+    @Id
+    @Column(length = 100)
+    private String email;
+
+    @Column(nullable = false, length = 6)
+    private String otp;
+
+    @Column(nullable = false)
+    private LocalDateTime expiresAt;
+
+    // Wrong codes tried against this OTP
+    @Column(nullable = false)
+    private int attempts;
+
+    // Codes issued while a previous one was still live
+    @Column(nullable = false)
+    private int issued;
+
+    // The id is assigned, so save() would otherwise merge: a row inserted
+    // concurrently would be silently overwritten instead of failing the insert
+    @Transient
+    private boolean isNew = true;
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        isNew = false;
+    }
+
+    @Override
+    public String getId() {
+        return email;
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    // ---------------- GETTERS & SETTERS ----------------
+
+    public String getEmail() {
+        return email;
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+    }
+
+    public String getOtp() {
+        return otp;
+    }
+
+    public void setOtp(String otp) {
+        this.otp = otp;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(LocalDateTime expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public void setAttempts(int attempts) {
+        this.attempts = attempts;
+    }
+
+    public int getIssued() {
+        return issued;
+    }
+
+    public void setIssued(int issued) {
+        this.issued = issued;
+    }
+}
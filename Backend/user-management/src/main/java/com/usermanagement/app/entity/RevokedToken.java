@@ -0,0 +1,41 @@
+package com.usermanagement.app.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(
+        name = "revoked_tokens",
+        indexes = {
+                @Index(name = "idx_revoked_tokens_expires_at", columnList = "expiresAt")
+        }
+)
+public class RevokedToken {
+
+    // jti claim of the logged out token
+    @Id
+    @Column(length = 36)
+    private String tokenId;
+
+    // When the token would have expired anyway; the row is useless after this
+    @Column(nullable = false)
+    private LocalDateTime expiresAt;
+
+    // ---------------- GETTERS & SETTERS ----------------
+
+    public String getTokenId() {
+        return tokenId;
+    }
+
+    public void setTokenId(String tokenId) {
+        this.tokenId = tokenId;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(LocalDateTime expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+}
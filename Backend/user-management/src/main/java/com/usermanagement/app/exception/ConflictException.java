@@ -0,0 +1,16 @@
+package com.usermanagement.app.exception;
+
+import org.springframework.http.HttpStatus;
+
+// Would duplicate existing data
+public class ConflictException extends DomainException {
+
+    public ConflictException(String code, String message) {
+        super(code, message);
+    }
+
+    @Override
+    public HttpStatus getStatus() {
+        return HttpStatus.CONFLICT;
+    }
+}
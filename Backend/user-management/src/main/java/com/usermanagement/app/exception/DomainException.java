@@ -0,0 +1,23 @@
+package com.usermanagement.app.exception;
+
+import org.springframework.http.HttpStatus;
+
+// Expected business outcome (not found, duplicate, bad input...). These are
+// thrown on ordinary request paths, so they skip the stack trace and the
+// suppression list: creating one costs about as much as any small object.
+public abstract class DomainException extends RuntimeException {
+
+    private final String code;
+
+    protected DomainException(String code, String message) {
+        super(message, null, false, false);
+        this.code = code;
+    }
+
+    // Stable machine-readable reason, e.g. USER_NOT_FOUND
+    public String getCode() {
+        return code;
+    }
+
+    public abstract HttpStatus getStatus();
+}
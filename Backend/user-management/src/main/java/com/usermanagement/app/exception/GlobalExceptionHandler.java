@@ -1,14 +1,69 @@
 package com.usermanagement.app.exception;
 
+import com.usermanagement.app.dto.ErrorResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.TypeMismatchException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.AuthenticationException;
 import org.springframework.web.bind.annotation.*;
 
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
-    @ExceptionHandler(RuntimeException.class)
+    private static final Logger log = LoggerFactory.getLogger(GlobalExceptionHandler.class);
+
+    @ExceptionHandler(DomainException.class)
+    public ResponseEntity<ErrorResponse> handleDomain(DomainException ex) {
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(ex.getStatus());
+
+        if (ex instanceof TooManyRequestsException tooMany) {
+            response.header(HttpHeaders.RETRY_AFTER, String.valueOf(tooMany.getRetryAfterSeconds()));
+        }
+
+        return response.body(new ErrorResponse(ex.getStatus().value(), ex.getCode(), ex.getMessage()));
+    }
+
+    // Failed login (bad password, unknown email)
+    @ExceptionHandler(AuthenticationException.class)
+    public ResponseEntity<ErrorResponse> handleAuthentication(AuthenticationException ex) {
+        return handleDomain(new UnauthorizedException("INVALID_CREDENTIALS", "Invalid email or password"));
+    }
+
+    // Body that is not valid JSON, or a path/query value of the wrong type
+    @ExceptionHandler({HttpMessageNotReadableException.class, TypeMismatchException.class})
     @ResponseStatus(HttpStatus.BAD_REQUEST)
-    public String handleRuntime(RuntimeException ex) {
-        return ex.getMessage();
+    public ErrorResponse handleMalformed(RuntimeException ex) {
+        return new ErrorResponse(HttpStatus.BAD_REQUEST.value(), "BAD_REQUEST", "Malformed request");
+    }
+
+    // Method security; would otherwise fall through to the 500 below
+    @ExceptionHandler(AccessDeniedException.class)
+    @ResponseStatus(HttpStatus.FORBIDDEN)
+    public ErrorResponse handleAccessDenied(AccessDeniedException ex) {
+        return new ErrorResponse(HttpStatus.FORBIDDEN.value(), "FORBIDDEN", "Access denied");
+    }
+
+    // Anything unexpected is a server fault: logged with its stack trace, and
+    // the client gets no internals. Spring's own web exceptions keep their status.
+    @ExceptionHandler(RuntimeException.class)
+    public ResponseEntity<ErrorResponse> handleRuntime(RuntimeException ex) {
+
+        if (ex instanceof org.springframework.web.ErrorResponse web) {
+            HttpStatusCode status = web.getStatusCode();
+            return ResponseEntity.status(status)
+                    .body(new ErrorResponse(status.value(), "REQUEST_REJECTED", web.getBody().getDetail()));
+        }
+
+        log.error("Unhandled exception", ex);
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(new ErrorResponse(HttpStatus.INTERNAL_SERVER_ERROR.value(), "INTERNAL_ERROR",
+                        "Internal server error"));
     }
 }
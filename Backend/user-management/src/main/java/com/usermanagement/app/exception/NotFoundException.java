@@ -0,0 +1,16 @@
+package com.usermanagement.app.exception;
+
+import org.springframework.http.HttpStatus;
+
+// Entity missing, or owned by another admin
+public class NotFoundException extends DomainException {
+
+    public NotFoundException(String code, String message) {
+        super(code, message);
+    }
+
+    @Override
+    public HttpStatus getStatus() {
+        return HttpStatus.NOT_FOUND;
+    }
+}
@@ -0,0 +1,23 @@
+package com.usermanagement.app.exception;
+
+import org.springframework.http.HttpStatus;
+
+// Rate limit or capacity reached; the client may retry after the given delay
+public class TooManyRequestsException extends DomainException {
+
+    private final long retryAfterSeconds;
+
+    public TooManyRequestsException(String code, String message, long retryAfterSeconds) {
+        super(code, message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+
+    @Override
+    public HttpStatus getStatus() {
+        return HttpStatus.TOO_MANY_REQUESTS;
+    }
+}
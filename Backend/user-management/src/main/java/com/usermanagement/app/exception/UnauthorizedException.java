@@ -0,0 +1,16 @@
+package com.usermanagement.app.exception;
+
+import org.springframework.http.HttpStatus;
+
+// Credentials or token not accepted
+public class UnauthorizedException extends DomainException {
+
+    public UnauthorizedException(String code, String message) {
+        super(code, message);
+    }
+
+    @Override
+    public HttpStatus getStatus() {
+        return HttpStatus.UNAUTHORIZED;
+    }
+}
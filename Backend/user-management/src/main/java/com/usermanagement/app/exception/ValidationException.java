@@ -0,0 +1,16 @@
+package com.usermanagement.app.exception;
+
+import org.springframework.http.HttpStatus;
+
+// Invalid or missing input
+public class ValidationException extends DomainException {
+
+    public ValidationException(String code, String message) {
+        super(code, message);
+    }
+
+    @Override
+    public HttpStatus getStatus() {
+        return HttpStatus.BAD_REQUEST;
+    }
+}
@@ -1,16 +1,37 @@
 package com.usermanagement.app.repository;
 
 import com.usermanagement.app.entity.LoginUser;
+import com.usermanagement.app.util.EmailAddress;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 
 public interface LoginUserRepository extends JpaRepository<LoginUser, Long> {
 
+    // Plain equality on the stored lowercase email, so the email index is used
     Optional<LoginUser> findByEmail(String email);
 
-    Optional<LoginUser> findByEmailIgnoreCase(String email);
+    boolean existsByEmail(String email);
 
-    boolean existsByEmailIgnoreCase(String email);
+    default Optional<LoginUser> findByEmail(EmailAddress email) {
+        return findByEmail(email.value());
+    }
+
+    default boolean existsByEmail(EmailAddress email) {
+        return existsByEmail(email.value());
+    }
+
+    @Query("select u.tokenVersion from LoginUser u where u.id = :id")
+    Optional<Integer> findTokenVersionById(@Param("id") Long id);
+
+    // Atomic in the database, so concurrent bumps are never lost
+    @Transactional
+    @Modifying
+    @Query("update LoginUser u set u.tokenVersion = u.tokenVersion + 1 where u.id = :id")
+    int incrementTokenVersion(@Param("id") Long id);
 
 }
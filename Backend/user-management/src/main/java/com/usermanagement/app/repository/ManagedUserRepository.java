@@ -1,21 +1,102 @@
 package com.usermanagement.app.repository;
 
+import com.usermanagement.app.dto.ManagedUserDTO;
 import com.usermanagement.app.entity.ManagedUser;
+import com.usermanagement.app.util.EmailAddress;
+import org.springframework.data.domain.Limit;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface ManagedUserRepository extends JpaRepository<ManagedUser, Long> {
+public interface ManagedUserRepository extends JpaRepository<ManagedUser, Long>, ManagedUserRepositoryCustom {
 
-    // Case-insensitive email under admin
-    Optional<ManagedUser> findByEmailIgnoreCaseAndAdminId(String email, Long adminId);
+    // Email under admin (emails are stored lowercase, see EmailAddress)
+    Optional<ManagedUser> findByEmailAndAdminId(String email, Long adminId);
 
     // Check duplicate under admin
-    boolean existsByEmailIgnoreCaseAndAdminId(String email, Long adminId);
+    boolean existsByEmailAndAdminId(String email, Long adminId);
+
+    default Optional<ManagedUser> findByEmailAndAdminId(EmailAddress email, Long adminId) {
+        return findByEmailAndAdminId(email.value(), adminId);
+    }
+
+    default boolean existsByEmailAndAdminId(EmailAddress email, Long adminId) {
+        return existsByEmailAndAdminId(email.value(), adminId);
+    }
+
+    // Which of the given (lowercase) emails already exist under admin
+    @Query("select u.email from ManagedUser u where u.adminId = :adminId and u.email in :emails")
+    List<String> findExistingEmails(@Param("adminId") Long adminId,
+                                    @Param("emails") Collection<String> emails);
+
+    // One user as a read model, only if it belongs to admin
+    @Transactional(readOnly = true)
+    @Query("select new com.usermanagement.app.dto.ManagedUserDTO(u.id, u.name, u.email) "
+            + "from ManagedUser u where u.id = :id and u.adminId = :adminId")
+    Optional<ManagedUserDTO> findDtoByIdAndAdminId(@Param("id") Long id, @Param("adminId") Long adminId);
 
     // List users for admin
     List<ManagedUser> findByAdminId(Long adminId);
+
+    // One keyset page of users for admin, after the given id. Selected straight
+    // into DTOs: no entities, no persistence-context snapshots, no flush.
+    @Transactional(readOnly = true)
+    @Query("select new com.usermanagement.app.dto.ManagedUserDTO(u.id, u.name, u.email) "
+            + "from ManagedUser u where u.adminId = :adminId and u.id > :afterId order by u.id")
+    List<ManagedUserDTO> findPageByAdminId(@Param("adminId") Long adminId,
+                                           @Param("afterId") Long afterId,
+                                           Limit limit);
+
+    // Delete one user, ownership enforced in the WHERE clause
+    @Transactional
+    @Modifying
+    @Query("delete from ManagedUser u where u.id = :id and u.adminId = :adminId")
+    int deleteByIdAndAdminId(@Param("id") Long id, @Param("adminId") Long adminId);
+
+    // Delete the listed users that belong to admin and return the ids removed,
+    // in the same statement (the delete's OLD TABLE, H2's DELETE ... RETURNING)
+    @Transactional
+    @Query(nativeQuery = true, value = "select id from old table ("
+            + "delete from managed_users where admin_id = :adminId and id in (:ids))")
+    List<Long> deleteReturningIdsByAdminIdAndIdIn(@Param("adminId") Long adminId,
+                                                  @Param("ids") Collection<Long> ids);
+
+    // Delete up to `limit` users of admin whose email matches a LIKE pattern
+    // (backslash escapes), lowest ids first, and return the ids removed
+    @Transactional
+    @Query(nativeQuery = true, value = "select id from old table ("
+            + "delete from managed_users where id in (select id from managed_users "
+            + "where admin_id = :adminId and email like :pattern escape '\\' "
+            + "order by id fetch first :limit rows only))")
+    List<Long> deleteReturningIdsByAdminIdAndEmailLike(@Param("adminId") Long adminId,
+                                                       @Param("pattern") String pattern,
+                                                       @Param("limit") int limit);
+
+    // Forward-only cursor over all users of admin, must be consumed in a transaction
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select u from ManagedUser u where u.adminId = :adminId order by u.id")
+    Stream<ManagedUser> streamByAdminId(@Param("adminId") Long adminId);
+
+    // Forward-only cursor over every managed user
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select u from ManagedUser u")
+    Stream<ManagedUser> streamAll();
 }
@@ -0,0 +1,11 @@
+package com.usermanagement.app.repository;
+
+import java.util.Optional;
+
+// Writes that Spring Data cannot derive, implemented over plain JDBC
+public interface ManagedUserRepositoryCustom {
+
+    // Insert the user unless admin already has this (lowercase) email, in one
+    // statement. Returns the new id, or empty if the email was taken.
+    Optional<Long> insertIfAbsent(String name, String email, Long adminId);
+}
@@ -0,0 +1,41 @@
+package com.usermanagement.app.repository;
+
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+
+import java.util.Optional;
+
+// Plain JDBC rather than Hibernate: a failed statement here is translated by
+// Spring without Hibernate logging it, so routine conflicts stay out of the log
+class ManagedUserRepositoryCustomImpl implements ManagedUserRepositoryCustom {
+
+    // Ids come from the same sequence as Hibernate's, see hibernate.id.optimizer
+    // in application.properties for why a single nextval never collides
+    private static final String INSERT_IF_ABSENT = "insert into managed_users (id, name, email, admin_id) "
+            + "select next value for managed_users_seq, :name, :email, :adminId "
+            + "where not exists (select 1 from managed_users where email = :email and admin_id = :adminId)";
+
+    private final NamedParameterJdbcTemplate jdbc;
+
+    ManagedUserRepositoryCustomImpl(NamedParameterJdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    @Override
+    public Optional<Long> insertIfAbsent(String name, String email, Long adminId) {
+
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("name", name)
+                .addValue("email", email)
+                .addValue("adminId", adminId);
+
+        KeyHolder keys = new GeneratedKeyHolder();
+        if (jdbc.update(INSERT_IF_ABSENT, params, keys, new String[]{"id"}) == 0) {
+            return Optional.empty();
+        }
+
+        return Optional.of(keys.getKeyAs(Long.class));
+    }
+}
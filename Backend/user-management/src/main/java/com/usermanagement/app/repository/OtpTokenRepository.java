@@ -0,0 +1,26 @@
+package com.usermanagement.app.repository;
+
+import com.usermanagement.app.entity.OtpToken;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+public interface OtpTokenRepository extends JpaRepository<OtpToken, String> {
+
+    // Row lock so concurrent verifications count attempts correctly
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select t from OtpToken t where t.email = :email")
+    Optional<OtpToken> findForUpdate(@Param("email") String email);
+
+    @Transactional
+    @Modifying
+    @Query("delete from OtpToken t where t.expiresAt <= :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -0,0 +1,298 @@
+package com.usermanagement.app.service;
+
+import com.usermanagement.app.util.SampledLogger;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+// Append-only audit trail of user mutations, kept in memory-mapped segment
+// files. An append encodes the record on the caller's thread and copies it
+// into the mapped segment under a short lock: one buffer write, no syscall.
+// A background thread forces newly written pages to disk every flush interval
+// (group commit), so requests never wait for the disk. A record survives a
+// process crash once appended; an OS crash loses at most one flush interval.
+//
+// Segments are fixed-size files audit-<sequence>.seg, zero-filled past the
+// last record. Each run starts a new segment. Record layout (big endian):
+// int length, int CRC32C of everything after it, long epoch millis,
+// byte action, long actor id, long subject id, short detail length, UTF-8 detail.
+// AuditJournalReader reads them back.
+@Component
+public class AuditJournal {
+
+    private static final SampledLogger log =
+            new SampledLogger(LoggerFactory.getLogger(AuditJournal.class), 10_000);
+
+    static final String SEGMENT_PREFIX = "audit-";
+    static final String SEGMENT_SUFFIX = ".seg";
+
+    static final int HEADER_BYTES = 35;
+    static final int MAX_DETAIL_BYTES = 512;
+
+    private static final int MIN_SEGMENT_BYTES = 4096;
+
+    private final boolean enabled;
+    private final Path dir;
+    private final int segmentBytes;
+    private final long flushMillis;
+
+    // Appenders take the lock to write into and rotate the current segment
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile Segment current;
+    private long nextSequence;
+
+    // Full segments waiting for their last force
+    private final Queue<Segment> retired = new ConcurrentLinkedQueue<>();
+
+    private Thread flusher;
+    private volatile boolean running;
+
+    private final Counter appends;
+    private final Counter dropped;
+    private final Timer forceTimer;
+
+    public AuditJournal(MeterRegistry registry,
+                        @Value("${audit.journal.enabled:true}") boolean enabled,
+                        @Value("${audit.journal.dir:data/audit}") String dir,
+                        @Value("${audit.journal.segment-bytes:16777216}") int segmentBytes,
+                        @Value("${audit.journal.flush-ms:200}") long flushMillis) {
+        this.enabled = enabled;
+        this.dir = Path.of(dir);
+        this.segmentBytes = Math.max(segmentBytes, MIN_SEGMENT_BYTES);
+        this.flushMillis = flushMillis;
+
+        this.appends = registry.counter("audit.journal.records", "outcome", "appended");
+        this.dropped = registry.counter("audit.journal.records", "outcome", "dropped");
+        this.forceTimer = Timer.builder("audit.journal.force")
+                .description("Forcing written journal pages to disk")
+                .register(registry);
+    }
+
+    @PostConstruct
+    public void open() throws IOException {
+
+        if (!enabled) {
+            return;
+        }
+
+        Files.createDirectories(dir);
+
+        List<Path> existing = segments(dir);
+        nextSequence = existing.isEmpty() ? 1 : sequence(existing.get(existing.size() - 1)) + 1;
+        current = Segment.create(dir, nextSequence++, segmentBytes);
+
+        running = true;
+        flusher = new Thread(this::flushLoop, "audit-flush");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    @PreDestroy
+    public void close() throws InterruptedException, IOException {
+
+        if (flusher == null) {
+            return;
+        }
+
+        running = false;
+        flusher.interrupt();
+        flusher.join();
+
+        lock.lock();
+        try {
+            flush();
+            current.close();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Never throws: the mutation being audited has already been committed
+    public void append(AuditRecord.Action action, long actorId, long subjectId, String detail) {
+
+        if (!enabled) {
+            return;
+        }
+
+        byte[] record = encode(System.currentTimeMillis(), action, actorId, subjectId, detail);
+
+        lock.lock();
+        try {
+            if (current.remaining() < record.length) {
+                rotate();
+            }
+            current.write(record);
+        } catch (IOException | RuntimeException ex) {
+            dropped.increment();
+            log.warn("Audit record dropped ({} {}): {}", action, subjectId, ex.toString());
+            return;
+        } finally {
+            lock.unlock();
+        }
+
+        appends.increment();
+    }
+
+    // Force everything appended so far to disk
+    public void flush() {
+
+        Segment segment;
+        while ((segment = retired.poll()) != null) {
+            try {
+                segment.close();
+            } catch (IOException ex) {
+                log.warn("Closing audit segment {} failed: {}", segment.path, ex.toString());
+            }
+        }
+
+        forceTimer.record(current::force);
+    }
+
+    // Segment files of a journal directory, oldest first
+    static List<Path> segments(Path dir) throws IOException {
+
+        if (!Files.isDirectory(dir)) {
+            return List.of();
+        }
+
+        try (Stream<Path> files = Files.list(dir)) {
+            return files
+                    .filter(p -> p.getFileName().toString().startsWith(SEGMENT_PREFIX)
+                            && p.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    static byte[] encode(long time, AuditRecord.Action action,
+                         long actorId, long subjectId, String detail) {
+
+        byte[] text = detail == null ? new byte[0] : detail.getBytes(StandardCharsets.UTF_8);
+        if (text.length > MAX_DETAIL_BYTES) {
+            // Cut before the character the limit falls in, never inside its
+            // UTF-8 sequence (continuation bytes are 10xxxxxx)
+            int cut = MAX_DETAIL_BYTES;
+            while (cut > 0 && (text[cut] & 0xC0) == 0x80) {
+                cut--;
+            }
+            text = Arrays.copyOf(text, cut);
+        }
+
+        int length = HEADER_BYTES + text.length;
+        ByteBuffer buffer = ByteBuffer.allocate(length)
+                .putInt(length)
+                .putInt(0)
+                .putLong(time)
+                .put((byte) action.ordinal())
+                .putLong(actorId)
+                .putLong(subjectId)
+                .putShort((short) text.length)
+                .put(text);
+
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.array(), 8, length - 8);
+        buffer.putInt(4, (int) crc.getValue());
+
+        return buffer.array();
+    }
+
+    // Called with the lock held
+    private void rotate() throws IOException {
+        Segment full = current;
+        current = Segment.create(dir, nextSequence++, segmentBytes);
+        retired.add(full);
+    }
+
+    private void flushLoop() {
+        while (running) {
+            try {
+                Thread.sleep(flushMillis);
+            } catch (InterruptedException ex) {
+                return;
+            }
+
+            try {
+                flush();
+            } catch (RuntimeException ex) {
+                log.warn("Audit journal flush failed: {}", ex.toString());
+            }
+        }
+    }
+
+    private static long sequence(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(
+                SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    private static final class Segment {
+
+        private final Path path;
+        private final FileChannel channel;
+        private final MappedByteBuffer buffer;
+
+        // Bytes appended, advanced under the journal lock
+        private volatile int written;
+
+        // Bytes known to be on disk
+        private int forced;
+
+        private Segment(Path path, FileChannel channel, MappedByteBuffer buffer) {
+            this.path = path;
+            this.channel = channel;
+            this.buffer = buffer;
+        }
+
+        // Zero-padded sequence, so file names sort in append order
+        static Segment create(Path dir, long sequence, int size) throws IOException {
+            Path path = dir.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, sequence, SEGMENT_SUFFIX));
+            FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE);
+            return new Segment(path, channel, channel.map(FileChannel.MapMode.READ_WRITE, 0, size));
+        }
+
+        int remaining() {
+            return buffer.capacity() - written;
+        }
+
+        void write(byte[] record) {
+            buffer.put(written, record);
+            written += record.length;
+        }
+
+        synchronized void force() {
+            int end = written;
+            if (end > forced) {
+                buffer.force(forced, end - forced);
+                forced = end;
+            }
+        }
+
+        void close() throws IOException {
+            force();
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package com.usermanagement.app.service;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import java.util.zip.CRC32C;
+
+// Streams records out of AuditJournal segments, oldest first, one mapped
+// segment at a time. Reading stops at the end of each segment's data: the
+// zero padding, or a record cut short by a crash (length or CRC mismatch).
+// Safe to run against the directory of a live application.
+//
+// Also a command line query tool, run from the application jar:
+//   java -cp user-management.jar \
+//        -Dloader.main=com.usermanagement.app.service.AuditJournalReader \
+//        org.springframework.boot.loader.launch.PropertiesLauncher \
+//        data/audit [--action ADD_USER] [--actor 7] [--subject 42]
+//                   [--since 2026-01-01T00:00:00Z] [--until ...] [--detail example.com]
+// Prints one tab-separated line per matching record: time, action, actor,
+// subject, detail.
+public final class AuditJournalReader {
+
+    private AuditJournalReader() {
+    }
+
+    public static Stream<AuditRecord> read(Path dir) throws IOException {
+        return AuditJournal.segments(dir).stream()
+                .flatMap(AuditJournalReader::readSegment);
+    }
+
+    static Stream<AuditRecord> readSegment(Path segment) {
+
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ)) {
+            // The mapping stays valid after the channel is closed
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+
+        Iterator<AuditRecord> records = new Iterator<>() {
+
+            private int position;
+            private AuditRecord next = advance();
+
+            @Override
+            public boolean hasNext() {
+                return next != null;
+            }
+
+            @Override
+            public AuditRecord next() {
+                if (next == null) {
+                    throw new NoSuchElementException();
+                }
+                AuditRecord record = next;
+                next = advance();
+                return record;
+            }
+
+            private AuditRecord advance() {
+                AuditRecord record = decode(buffer, position);
+                if (record != null) {
+                    position += buffer.getInt(position);
+                }
+                return record;
+            }
+        };
+
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(
+                records, Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    // The record at the position, or null past the last intact one
+    private static AuditRecord decode(ByteBuffer buffer, int position) {
+
+        if (buffer.capacity() - position < AuditJournal.HEADER_BYTES) {
+            return null;
+        }
+
+        int length = buffer.getInt(position);
+        if (length < AuditJournal.HEADER_BYTES
+                || length > AuditJournal.HEADER_BYTES + AuditJournal.MAX_DETAIL_BYTES
+                || length > buffer.capacity() - position) {
+            return null;
+        }
+
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.slice(position + 8, length - 8));
+        if ((int) crc.getValue() != buffer.getInt(position + 4)) {
+            return null;
+        }
+
+        int actionIndex = buffer.get(position + 16);
+        AuditRecord.Action[] actions = AuditRecord.Action.values();
+        if (actionIndex < 0 || actionIndex >= actions.length) {
+            return null;
+        }
+
+        int textLength = buffer.getShort(position + 33);
+        byte[] text = new byte[textLength];
+        buffer.get(position + AuditJournal.HEADER_BYTES, text);
+
+        return new AuditRecord(
+                Instant.ofEpochMilli(buffer.getLong(position + 8)),
+                actions[actionIndex],
+                buffer.getLong(position + 17),
+                buffer.getLong(position + 25),
+                textLength == 0 ? null : new String(text, StandardCharsets.UTF_8));
+    }
+
+    public static void main(String[] args) throws IOException {
+
+        if (args.length == 0 || args.length % 2 == 0) {
+            usage(System.err);
+            System.exit(2);
+        }
+
+        Predicate<AuditRecord> filter = record -> true;
+
+        for (int i = 1; i < args.length; i += 2) {
+            String value = args[i + 1];
+            switch (args[i]) {
+                case "--action" -> {
+                    AuditRecord.Action action = AuditRecord.Action.valueOf(value);
+                    filter = filter.and(r -> r.action() == action);
+                }
+                case "--actor" -> {
+                    long actor = Long.parseLong(value);
+                    filter = filter.and(r -> r.actorId() == actor);
+                }
+                case "--subject" -> {
+                    long subject = Long.parseLong(value);
+                    filter = filter.and(r -> r.subjectId() == subject);
+                }
+                case "--since" -> {
+                    Instant since = Instant.parse(value);
+                    filter = filter.and(r -> !r.time().isBefore(since));
+                }
+                case "--until" -> {
+                    Instant until = Instant.parse(value);
+                    filter = filter.and(r -> r.time().isBefore(until));
+                }
+                case "--detail" -> filter = filter.and(r -> r.detail() != null && r.detail().contains(value));
+                default -> {
+                    usage(System.err);
+                    System.exit(2);
+                }
+            }
+        }
+
+        long matched = 0;
+        try (Stream<AuditRecord> records = read(Path.of(args[0]))) {
+            Iterator<AuditRecord> it = records.filter(filter).iterator();
+            while (it.hasNext()) {
+                AuditRecord r = it.next();
+                System.out.println(r.time() + "\t" + r.action() + "\t" + r.actorId()
+                        + "\t" + r.subjectId() + "\t" + (r.detail() == null ? "" : r.detail()));
+                matched++;
+            }
+        }
+
+        System.err.println(matched + " records");
+    }
+
+    private static void usage(PrintStream out) {
+        out.println("usage: AuditJournalReader <dir> [--action NAME] [--actor ID] [--subject ID]"
+                + " [--since ISO-INSTANT] [--until ISO-INSTANT] [--detail TEXT]");
+    }
+}
@@ -0,0 +1,22 @@
+package com.usermanagement.app.service;
+
+import java.time.Instant;
+
+// One entry of the audit journal
+public record AuditRecord(Instant time, Action action, long actorId, long subjectId, String detail) {
+
+    // Stored by ordinal: only ever append new actions
+    public enum Action {
+        // actor and subject: the new admin, detail: email
+        REGISTER,
+        // actor: admin, subject: new user, detail: email
+        ADD_USER,
+        // actor: admin, subject: deleted user
+        DELETE_USER,
+        // actor: admin, subject: a user removed by a bulk delete,
+        // detail: email domain if by domain
+        BULK_DELETE_USER,
+        // actor and subject: the admin, detail: email
+        PASSWORD_RESET
+    }
+}
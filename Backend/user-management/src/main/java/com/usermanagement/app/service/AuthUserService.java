@@ -1,96 +1,164 @@
 package com.usermanagement.app.service;
 
 import com.usermanagement.app.entity.LoginUser;
+import com.usermanagement.app.exception.ConflictException;
+import com.usermanagement.app.exception.NotFoundException;
+import com.usermanagement.app.exception.TooManyRequestsException;
+import com.usermanagement.app.exception.ValidationException;
 import com.usermanagement.app.repository.LoginUserRepository;
+import com.usermanagement.app.util.EmailAddress;
 
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.security.SecureRandom;
-import java.time.LocalDateTime;
+import java.time.Duration;
 
 @Service
 public class AuthUserService {
 
+    private static final Duration OTP_TTL = Duration.ofMinutes(5);
+
+    // Codes per email while the previous one is still live
+    private static final int MAX_OTP_ISSUES = 5;
+
+    // Wrong codes tried before the OTP is locked
+    private static final int MAX_OTP_ATTEMPTS = 5;
+
+    // Thread-safe and expensive to seed, so shared
+    private static final SecureRandom RANDOM = new SecureRandom();
+
     private final LoginUserRepository loginUserRepository;
     private final PasswordEncoder passwordEncoder;
+    private final TokenVersionService tokenVersionService;
+    private final EmailService emailService;
+    private final OtpStore otpStore;
+    private final InvalidationBus bus;
+    private final AuditJournal auditJournal;
+    private final TransactionTemplate transactionTemplate;
 
     public AuthUserService(LoginUserRepository loginUserRepository,
-                           PasswordEncoder passwordEncoder) {
+                           PasswordEncoder passwordEncoder,
+                           TokenVersionService tokenVersionService,
+                           EmailService emailService,
+                           OtpStore otpStore,
+                           InvalidationBus bus,
+                           AuditJournal auditJournal,
+                           TransactionTemplate transactionTemplate) {
         this.loginUserRepository = loginUserRepository;
         this.passwordEncoder = passwordEncoder;
+        this.tokenVersionService = tokenVersionService;
+        this.emailService = emailService;
+        this.otpStore = otpStore;
+        this.bus = bus;
+        this.auditJournal = auditJournal;
+        this.transactionTemplate = transactionTemplate;
     }
 
     // REGISTER ADMIN
     public LoginUser register(String name, String email, String password) {
 
         if (password == null || password.trim().length() < 6) {
-            throw new RuntimeException("Password must be at least 6 characters");
+            throw new ValidationException("WEAK_PASSWORD", "Password must be at least 6 characters");
         }
 
-        if (loginUserRepository.existsByEmailIgnoreCase(email)) {
-            throw new RuntimeException("Email already registered");
+        EmailAddress canonical = EmailAddress.of(email);
+
+        if (loginUserRepository.existsByEmail(canonical)) {
+            throw new ConflictException("EMAIL_REGISTERED", "Email already registered");
         }
 
         LoginUser user = new LoginUser();
         user.setName(name);
-        user.setEmail(email.toLowerCase());
+        user.setEmail(canonical.value());
         user.setPassword(passwordEncoder.encode(password));
 
-        return loginUserRepository.save(user);
+        LoginUser saved = loginUserRepository.save(user);
+        auditJournal.append(AuditRecord.Action.REGISTER, saved.getId(), saved.getId(), saved.getEmail());
+
+        return saved;
+    }
+
+    // LOGOUT EVERYWHERE (every token issued so far stops working)
+    public void logoutAll(Long userId) {
+
+        if (!tokenVersionService.bump(userId)) {
+            throw new NotFoundException("USER_NOT_FOUND", "User not found");
+        }
     }
 
     // FIND USER BY EMAIL
     public LoginUser findByEmail(String email) {
-        return loginUserRepository.findByEmailIgnoreCase(email).orElse(null);
+        return loginUserRepository.findByEmail(EmailAddress.of(email)).orElse(null);
     }
 
     // SEND OTP
     public String sendOtp(String email) {
 
-        LoginUser user = loginUserRepository.findByEmailIgnoreCase(email)
-                .orElseThrow(() -> new RuntimeException("Email not found"));
+        LoginUser user = loginUserRepository.findByEmail(EmailAddress.of(email))
+                .orElseThrow(() -> new NotFoundException("EMAIL_NOT_FOUND", "Email not found"));
 
-        SecureRandom random = new SecureRandom();
-        String otp = String.valueOf(100000 + random.nextInt(900000));
+        String otp = String.valueOf(100000 + RANDOM.nextInt(900000));
+
+        if (!otpStore.issue(user.getEmail(), otp, OTP_TTL, MAX_OTP_ISSUES)) {
+            throw new TooManyRequestsException("TOO_MANY_OTP_REQUESTS",
+                    "Too many OTP requests, try again later", OTP_TTL.toSeconds());
+        }
 
-        user.setOtp(otp);
-        user.setOtpExpiry(LocalDateTime.now().plusMinutes(5));
+        // Back-pressure must not use up the user's issues
+        if (!emailService.sendOtp(user.getEmail(), otp)) {
+            otpStore.withdraw(user.getEmail(), otp);
+            throw new TooManyRequestsException("MAIL_QUEUE_FULL", "Mail queue is full, try again later", 5);
+        }
 
-        loginUserRepository.save(user);
+        // Codes issued earlier on other nodes are superseded
+        bus.publish(InvalidationEvent.otp(user.getEmail()));
 
-        // Here you should call email service
         return "OTP sent successfully";
     }
 
     // RESET PASSWORD
-    public String resetPassword(String email, String otp, String newPassword) {
+    public PasswordResetResult resetPassword(String email, String otp, String newPassword) {
 
         if (newPassword == null || newPassword.trim().length() < 6) {
-            return "Password must be at least 6 characters";
+            return PasswordResetResult.WEAK_PASSWORD;
         }
 
-        LoginUser user = loginUserRepository.findByEmailIgnoreCase(email)
-                .orElseThrow(() -> new RuntimeException("Email not found"));
-
-        if (user.getOtp() == null || user.getOtpExpiry() == null) {
-            return "OTP not requested";
+        EmailAddress canonical = EmailAddress.of(email);
+
+        // Checked before touching login_users, so bad codes cost no query
+        switch (otpStore.verify(canonical.value(), otp, MAX_OTP_ATTEMPTS)) {
+            case NOT_REQUESTED:
+                return PasswordResetResult.OTP_NOT_REQUESTED;
+            case INVALID:
+                return PasswordResetResult.INVALID_OTP;
+            case EXPIRED:
+                return PasswordResetResult.OTP_EXPIRED;
+            case TOO_MANY_ATTEMPTS:
+                return PasswordResetResult.TOO_MANY_ATTEMPTS;
+            default:
+                break;
         }
 
-        if (!user.getOtp().equals(otp)) {
-            return "Invalid OTP";
-        }
+        bus.publish(InvalidationEvent.otp(canonical.value()));
 
-        if (user.getOtpExpiry().isBefore(LocalDateTime.now())) {
-            return "OTP expired";
+        LoginUser user = loginUserRepository.findByEmail(canonical).orElse(null);
+        if (user == null) {
+            return PasswordResetResult.EMAIL_NOT_FOUND;
         }
 
+        // Hashed before the transaction, so no connection is held while hashing
         user.setPassword(passwordEncoder.encode(newPassword));
-        user.setOtp(null);
-        user.setOtpExpiry(null);
 
-        loginUserRepository.save(user);
+        // Tokens issued with the old password stop working, in the same commit
+        transactionTemplate.executeWithoutResult(status -> {
+            loginUserRepository.save(user);
+            tokenVersionService.bump(user.getId());
+        });
+
+        auditJournal.append(AuditRecord.Action.PASSWORD_RESET, user.getId(), user.getId(), user.getEmail());
 
-        return "Password reset successfully";
+        return PasswordResetResult.RESET;
     }
 }
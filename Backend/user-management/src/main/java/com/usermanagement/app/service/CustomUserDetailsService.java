@@ -2,15 +2,17 @@ package com.usermanagement.app.service;
 
 import com.usermanagement.app.entity.LoginUser;
 import com.usermanagement.app.repository.LoginUserRepository;
+import com.usermanagement.app.util.EmailAddress;
 
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
 @Service
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     private final LoginUserRepository loginUserRepository;
 
@@ -22,10 +24,29 @@ public class CustomUserDetailsService implements UserDetailsService {
     public UserDetails loadUserByUsername(String email)
             throws UsernameNotFoundException {
 
-        LoginUser user = loginUserRepository.findByEmail(email)
+        LoginUser user = loginUserRepository.findByEmail(EmailAddress.of(email))
                 .orElseThrow(() ->
                         new UsernameNotFoundException("User not found: " + email));
 
+        return toUserDetails(user);
+    }
+
+    // Called after a successful login whose stored hash is below the current
+    // algorithm or cost; newPassword is already encoded
+    @Override
+    public UserDetails updatePassword(UserDetails details, String newPassword) {
+
+        LoginUser user = loginUserRepository.findByEmail(EmailAddress.of(details.getUsername()))
+                .orElseThrow(() ->
+                        new UsernameNotFoundException("User not found: " + details.getUsername()));
+
+        user.setPassword(newPassword);
+        loginUserRepository.save(user);
+
+        return toUserDetails(user);
+    }
+
+    private UserDetails toUserDetails(LoginUser user) {
         return User.builder()
                 .username(user.getEmail())
                 .password(user.getPassword())
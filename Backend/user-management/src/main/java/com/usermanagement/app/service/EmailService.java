@@ -1,25 +1,26 @@
 package com.usermanagement.app.service;
 
 import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.stereotype.Service;
 
 @Service
 public class EmailService {
 
-    private final JavaMailSender mailSender;
+    private final MailOutbox outbox;
 
-    public EmailService(JavaMailSender mailSender) {
-        this.mailSender = mailSender;
+    public EmailService(MailOutbox outbox) {
+        this.outbox = outbox;
     }
 
-    public void sendOtp(String to, String otp) {
+    // Queued for background delivery, returns without waiting on SMTP.
+    // False if the queue is full and nothing was queued.
+    public boolean sendOtp(String to, String otp) {
 
         SimpleMailMessage message = new SimpleMailMessage();
         message.setTo(to);
         message.setSubject("OTP Verification");
         message.setText("Your OTP is: " + otp);
 
-        mailSender.send(message);
+        return outbox.enqueue(message);
     }
 }
@@ -0,0 +1,135 @@
+package com.usermanagement.app.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.usermanagement.app.exception.ConflictException;
+import com.usermanagement.app.exception.ValidationException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+// Outcomes of requests sent with an Idempotency-Key, so a client retrying after
+// a lost response gets the original result instead of a second execution.
+// Keys are scoped per admin, bounded in number and expire after the TTL.
+@Component
+public class IdempotencyStore {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    static final int MAX_KEY_LENGTH = 255;
+
+    public record Result<T>(T value, boolean replayed) {
+    }
+
+    private record Key(Long adminId, String key) {
+    }
+
+    // Fingerprint of the first request, and its outcome once known
+    private record Entry(String fingerprint, CompletableFuture<Object> outcome) {
+    }
+
+    private final Cache<Key, Entry> entries;
+    private final long waitMillis;
+    private final Counter replays;
+
+    public IdempotencyStore(MeterRegistry registry,
+                            @Value("${idempotency.max-keys:100000}") long maxKeys,
+                            @Value("${idempotency.ttl-seconds:86400}") long ttlSeconds,
+                            @Value("${idempotency.wait-ms:10000}") long waitMillis) {
+
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        this.waitMillis = waitMillis;
+        this.replays = registry.counter("idempotency.replays");
+
+        CaffeineCacheMetrics.monitor(registry, entries, "idempotency");
+    }
+
+    // Run the action once per (admin, key). Later calls with the same key wait
+    // for the first one and get its value, or its error.
+    public <T> Result<T> execute(Long adminId, String key, String fingerprint, Supplier<T> action) {
+
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new ValidationException("INVALID_IDEMPOTENCY_KEY",
+                    "Idempotency-Key must be 1 to " + MAX_KEY_LENGTH + " characters");
+        }
+
+        Key id = new Key(adminId, key);
+        Entry mine = new Entry(fingerprint, new CompletableFuture<>());
+        Entry existing = entries.asMap().putIfAbsent(id, mine);
+
+        if (existing == null) {
+            try {
+                T value = action.get();
+                mine.outcome().complete(value);
+                return new Result<>(value, false);
+            } catch (RuntimeException ex) {
+                // Failures are not remembered, a later retry runs again
+                entries.asMap().remove(id, mine);
+                mine.outcome().completeExceptionally(ex);
+                throw ex;
+            }
+        }
+
+        if (!existing.fingerprint().equals(fingerprint)) {
+            throw new ValidationException("IDEMPOTENCY_KEY_REUSED",
+                    "Idempotency-Key was already used for a different request");
+        }
+
+        return new Result<>(await(existing), true);
+    }
+
+    // SHA-256 over the request fields that must match on a replay
+    public static String fingerprint(String... parts) {
+        try {
+            MessageDigest md = MessageDigest.getInstance("SHA-256");
+            for (String part : parts) {
+                if (part != null) {
+                    md.update(part.getBytes(StandardCharsets.UTF_8));
+                }
+                md.update((byte) 0);
+            }
+            return Base64.getEncoder().withoutPadding().encodeToString(md.digest());
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 not available", ex);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T await(Entry entry) {
+        try {
+            T value = (T) entry.outcome().get(waitMillis, TimeUnit.MILLISECONDS);
+            replays.increment();
+            return value;
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(ex.getCause());
+        } catch (TimeoutException ex) {
+            throw new ConflictException("IDEMPOTENCY_KEY_IN_USE",
+                    "A request with this Idempotency-Key is still in progress");
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new ConflictException("IDEMPOTENCY_KEY_IN_USE",
+                    "A request with this Idempotency-Key is still in progress");
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package com.usermanagement.app.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+// Node-local OTP store; entries are dropped by a timer thread when they expire
+@Component
+@ConditionalOnProperty(name = "otp.store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryOtpStore implements OtpStore {
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    // Ordered by expiry time, so the sweeper only wakes when something expires
+    private final DelayQueue<Expiry> expiries = new DelayQueue<>();
+
+    private final Clock clock;
+
+    private Thread sweeper;
+
+    @Autowired
+    public InMemoryOtpStore() {
+        this(Clock.systemUTC());
+    }
+
+    public InMemoryOtpStore(Clock clock) {
+        this.clock = clock;
+    }
+
+    @PostConstruct
+    public void start() {
+        sweeper = new Thread(this::sweep, "otp-expiry");
+        sweeper.setDaemon(true);
+        sweeper.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (sweeper != null) {
+            sweeper.interrupt();
+        }
+    }
+
+    @Override
+    public boolean issue(String email, String otp, Duration ttl, int maxIssues) {
+
+        long now = clock.millis();
+        long expiresAt = now + ttl.toMillis();
+        AtomicReference<Boolean> issued = new AtomicReference<>(false);
+
+        entries.compute(email, (key, current) -> {
+            int count = current == null || current.isExpired(now) ? 0 : current.issued;
+
+            if (count >= maxIssues) {
+                return current;
+            }
+
+            issued.set(true);
+            return new Entry(otp, expiresAt, 0, count + 1);
+        });
+
+        if (issued.get()) {
+            expiries.put(new Expiry(email, expiresAt, clock));
+        }
+        return issued.get();
+    }
+
+    @Override
+    public void withdraw(String email, String otp) {
+        entries.computeIfPresent(email, (key, current) -> {
+
+            if (!current.otp.equals(otp)) {
+                return current;
+            }
+
+            // The code replaced an earlier one that is gone for good, so only
+            // the count is restored; nobody knows the undelivered code
+            return current.issued <= 1
+                    ? null
+                    : new Entry(current.otp, current.expiresAt, current.attempts, current.issued - 1);
+        });
+    }
+
+    @Override
+    public Check verify(String email, String otp, int maxAttempts) {
+
+        long now = clock.millis();
+        AtomicReference<Check> result = new AtomicReference<>(Check.NOT_REQUESTED);
+
+        entries.computeIfPresent(email, (key, current) -> {
+
+            if (current.isExpired(now)) {
+                result.set(Check.EXPIRED);
+                return null;
+            }
+
+            if (current.attempts >= maxAttempts) {
+                result.set(Check.TOO_MANY_ATTEMPTS);
+                return current;
+            }
+
+            if (otp != null && MessageDigest.isEqual(
+                    current.otp.getBytes(StandardCharsets.UTF_8),
+                    otp.getBytes(StandardCharsets.UTF_8))) {
+                result.set(Check.VALID);
+                return null;
+            }
+
+            result.set(Check.INVALID);
+            return new Entry(current.otp, current.expiresAt, current.attempts + 1, current.issued);
+        });
+
+        return result.get();
+    }
+
+    @Override
+    public void evict(String email) {
+        entries.remove(email);
+    }
+
+    // Live codes plus expired ones the sweeper has not dropped yet
+    int size() {
+        return entries.size();
+    }
+
+    private void sweep() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                Expiry expiry = expiries.take();
+
+                // Only remove if the entry was not replaced by a newer code
+                entries.computeIfPresent(expiry.email, (key, current) ->
+                        current.expiresAt == expiry.expiresAt ? null : current);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private record Entry(String otp, long expiresAt, int attempts, int issued) {
+
+        boolean isExpired(long now) {
+            return expiresAt <= now;
+        }
+    }
+
+    private record Expiry(String email, long expiresAt, Clock clock) implements Delayed {
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(expiresAt - clock.millis(), TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(expiresAt, ((Expiry) other).expiresAt);
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.usermanagement.app.service;
+
+import com.usermanagement.app.util.SampledLogger;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+// Single-node bus. Publishes are queued, coalesced and flushed as one batch
+// every flush interval (or as soon as a batch is full), exactly as they would
+// be for a network transport; on one node every event is its own, so nothing
+// is dispatched. Transports extend this class and override send().
+@Component
+@ConditionalOnProperty(name = "invalidation.bus", havingValue = "in-process", matchIfMissing = true)
+public class InProcessInvalidationBus implements InvalidationBus {
+
+    private static final SampledLogger log =
+            new SampledLogger(LoggerFactory.getLogger(InProcessInvalidationBus.class), 10_000);
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final int maxBatch;
+
+    // Filled for every topic up front, never resized afterwards
+    private final Map<InvalidationEvent.Topic, List<Consumer<InvalidationEvent>>> listeners =
+            new EnumMap<>(InvalidationEvent.Topic.class);
+
+    // Events waiting for the next flush; equal events collapse into one
+    private Set<InvalidationEvent> pending = new LinkedHashSet<>();
+
+    private final ScheduledExecutorService flusher;
+
+    private final Counter published;
+    private final Counter coalesced;
+    private final Counter batchesSent;
+    private final Counter received;
+
+    public InProcessInvalidationBus(MeterRegistry registry,
+                                    @Value("${invalidation.flush-ms:50}") long flushMillis,
+                                    @Value("${invalidation.max-batch:500}") int maxBatch) {
+        this.maxBatch = maxBatch;
+
+        for (InvalidationEvent.Topic topic : InvalidationEvent.Topic.values()) {
+            listeners.put(topic, new CopyOnWriteArrayList<>());
+        }
+
+        this.published = registry.counter("invalidation.events", "outcome", "published");
+        this.coalesced = registry.counter("invalidation.events", "outcome", "coalesced");
+        this.received = registry.counter("invalidation.events", "outcome", "received");
+        this.batchesSent = registry.counter("invalidation.batches.sent");
+
+        this.flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "invalidation-flush");
+            t.setDaemon(true);
+            return t;
+        });
+        flusher.scheduleWithFixedDelay(this::flush, flushMillis, flushMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void publish(InvalidationEvent event) {
+
+        boolean full;
+        synchronized (this) {
+            if (!pending.add(event)) {
+                coalesced.increment();
+                return;
+            }
+            full = pending.size() >= maxBatch;
+        }
+
+        published.increment();
+
+        // A write burst ships full batches without waiting for the timer
+        if (full) {
+            try {
+                flusher.execute(this::flush);
+            } catch (RejectedExecutionException ex) {
+                // Shutting down, no flusher left
+                flush();
+            }
+        }
+    }
+
+    @Override
+    public void subscribe(InvalidationEvent.Topic topic, Consumer<InvalidationEvent> listener) {
+        listeners.get(topic).add(listener);
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    // Send everything queued so far
+    public void flush() {
+
+        List<InvalidationEvent> batch;
+        synchronized (this) {
+            if (pending.isEmpty()) {
+                return;
+            }
+            batch = List.copyOf(pending);
+            pending = new LinkedHashSet<>();
+        }
+
+        // A lost batch leaves other nodes stale until their entries expire
+        try {
+            send(nodeId, batch);
+            batchesSent.increment();
+        } catch (RuntimeException ex) {
+            log.warn("Dropped {} invalidations: {}", batch.size(), ex.toString());
+        }
+    }
+
+    // Hand a batch to the transport; in-process it comes straight back
+    protected void send(String origin, List<InvalidationEvent> batch) {
+        receive(origin, batch);
+    }
+
+    // Apply a batch published by another node to the local listeners
+    protected void receive(String origin, List<InvalidationEvent> batch) {
+
+        if (nodeId.equals(origin)) {
+            return;
+        }
+
+        received.increment(batch.size());
+
+        for (InvalidationEvent event : batch) {
+            for (Consumer<InvalidationEvent> listener : listeners.get(event.topic())) {
+                try {
+                    listener.accept(event);
+                } catch (RuntimeException ex) {
+                    log.warn("Invalidation listener failed for {}: {}", event, ex.toString());
+                }
+            }
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        flusher.shutdown();
+        flush();
+    }
+}
@@ -0,0 +1,13 @@
+package com.usermanagement.app.service;
+
+import java.util.function.Consumer;
+
+// Carries cache invalidations between the nodes behind the load balancer.
+// The publishing node has already updated its own caches, so listeners only
+// see events published by other nodes, after a short batching delay.
+public interface InvalidationBus {
+
+    void publish(InvalidationEvent event);
+
+    void subscribe(InvalidationEvent.Topic topic, Consumer<InvalidationEvent> listener);
+}
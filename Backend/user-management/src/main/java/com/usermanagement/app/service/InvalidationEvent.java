@@ -0,0 +1,39 @@
+package com.usermanagement.app.service;
+
+import java.time.Instant;
+
+// A change other nodes must drop from their local caches. Equal events
+// published close together are coalesced into one.
+public record InvalidationEvent(Topic topic, String key, long value) {
+
+    public enum Topic {
+        // key: admin id. List pages and the search index of the admin
+        USERS_CHANGED,
+        // key: login user id. Cached token version
+        TOKEN_VERSION,
+        // key: jti, value: token expiry (epoch millis)
+        TOKEN_REVOKED,
+        // key: canonical email. A node-local OTP issued or used elsewhere
+        OTP
+    }
+
+    public static InvalidationEvent usersChanged(Long adminId) {
+        return new InvalidationEvent(Topic.USERS_CHANGED, adminId.toString(), 0);
+    }
+
+    public static InvalidationEvent tokenVersion(Long userId) {
+        return new InvalidationEvent(Topic.TOKEN_VERSION, userId.toString(), 0);
+    }
+
+    public static InvalidationEvent tokenRevoked(String tokenId, Instant expiresAt) {
+        return new InvalidationEvent(Topic.TOKEN_REVOKED, tokenId, expiresAt.toEpochMilli());
+    }
+
+    public static InvalidationEvent otp(String email) {
+        return new InvalidationEvent(Topic.OTP, email, 0);
+    }
+
+    public Long id() {
+        return Long.valueOf(key);
+    }
+}
@@ -0,0 +1,33 @@
+package com.usermanagement.app.service;
+
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+
+import static com.usermanagement.app.service.InvalidationEvent.Topic.*;
+
+// Applies changes made on other nodes to this node's caches
+@Component
+public class InvalidationSubscribers {
+
+    public InvalidationSubscribers(InvalidationBus bus,
+                                   UserListCache listCache,
+                                   UserSearchIndex searchIndex,
+                                   TokenVersionService tokenVersionService,
+                                   TokenRevocationService revocationService,
+                                   OtpStore otpStore) {
+
+        bus.subscribe(USERS_CHANGED, event -> {
+            listCache.invalidate(event.id());
+            searchIndex.invalidate(event.id());
+        });
+
+        // Reloaded from login_users on the admin's next request
+        bus.subscribe(TOKEN_VERSION, event -> tokenVersionService.evict(event.id()));
+
+        bus.subscribe(TOKEN_REVOKED, event -> revocationService.revokedElsewhere(
+                event.key(), Instant.ofEpochMilli(event.value())));
+
+        bus.subscribe(OTP, event -> otpStore.evict(event.key()));
+    }
+}
@@ -0,0 +1,155 @@
+package com.usermanagement.app.service;
+
+import com.usermanagement.app.entity.OtpToken;
+import com.usermanagement.app.repository.OtpTokenRepository;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// OTP store shared by every node through the otp_tokens table
+@Component
+@ConditionalOnProperty(name = "otp.store", havingValue = "jpa")
+public class JpaOtpStore implements OtpStore {
+
+    private static final Logger log = LoggerFactory.getLogger(JpaOtpStore.class);
+
+    private final OtpTokenRepository repo;
+    private final TransactionTemplate transactionTemplate;
+
+    private ScheduledExecutorService purger;
+
+    public JpaOtpStore(OtpTokenRepository repo, TransactionTemplate transactionTemplate) {
+        this.repo = repo;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @PostConstruct
+    public void start() {
+        purger = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "otp-purge");
+            t.setDaemon(true);
+            return t;
+        });
+        purger.scheduleWithFixedDelay(this::purge, 1, 1, TimeUnit.MINUTES);
+    }
+
+    void purge() {
+        // A failed run must not cancel the schedule
+        try {
+            repo.deleteExpired(LocalDateTime.now());
+        } catch (RuntimeException ex) {
+            log.warn("Purging expired OTP codes failed", ex);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (purger != null) {
+            purger.shutdownNow();
+        }
+    }
+
+    @Override
+    public boolean issue(String email, String otp, Duration ttl, int maxIssues) {
+        try {
+            return transactionTemplate.execute(status -> tryIssue(email, otp, ttl, maxIssues));
+        } catch (DataIntegrityViolationException ex) {
+            // First code for the email: there was no row to lock, and a
+            // concurrent request inserted it first. It exists now, so the
+            // retry locks it and counts against it like any later issue.
+            return transactionTemplate.execute(status -> tryIssue(email, otp, ttl, maxIssues));
+        }
+    }
+
+    private boolean tryIssue(String email, String otp, Duration ttl, int maxIssues) {
+
+        LocalDateTime now = LocalDateTime.now();
+        Optional<OtpToken> current = repo.findForUpdate(email);
+
+        int count = current
+                .filter(t -> t.getExpiresAt().isAfter(now))
+                .map(OtpToken::getIssued)
+                .orElse(0);
+
+        if (count >= maxIssues) {
+            return false;
+        }
+
+        OtpToken token = current.orElseGet(OtpToken::new);
+        token.setEmail(email);
+        token.setOtp(otp);
+        token.setExpiresAt(now.plus(ttl));
+        token.setAttempts(0);
+        token.setIssued(count + 1);
+
+        // Flushed here so a duplicate insert fails inside the retry above
+        repo.saveAndFlush(token);
+        return true;
+    }
+
+    @Override
+    public void withdraw(String email, String otp) {
+        transactionTemplate.executeWithoutResult(status -> {
+
+            OtpToken token = repo.findForUpdate(email)
+                    .filter(t -> t.getOtp().equals(otp))
+                    .orElse(null);
+
+            if (token == null) {
+                return;
+            }
+
+            if (token.getIssued() <= 1) {
+                repo.delete(token);
+            } else {
+                token.setIssued(token.getIssued() - 1);
+            }
+        });
+    }
+
+    @Override
+    public Check verify(String email, String otp, int maxAttempts) {
+        return transactionTemplate.execute(status -> {
+
+            OtpToken token = repo.findForUpdate(email).orElse(null);
+
+            if (token == null) {
+                return Check.NOT_REQUESTED;
+            }
+
+            if (!token.getExpiresAt().isAfter(LocalDateTime.now())) {
+                repo.delete(token);
+                return Check.EXPIRED;
+            }
+
+            if (token.getAttempts() >= maxAttempts) {
+                return Check.TOO_MANY_ATTEMPTS;
+            }
+
+            if (otp != null && MessageDigest.isEqual(
+                    token.getOtp().getBytes(StandardCharsets.UTF_8),
+                    otp.getBytes(StandardCharsets.UTF_8))) {
+                repo.delete(token);
+                return Check.VALID;
+            }
+
+            token.setAttempts(token.getAttempts() + 1);
+            return Check.INVALID;
+        });
+    }
+}
@@ -0,0 +1,214 @@
+package com.usermanagement.app.service;
+
+import com.usermanagement.app.exception.TooManyRequestsException;
+import com.usermanagement.app.util.SampledLogger;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+// Per-email and per-IP token buckets for the unauthenticated auth endpoints
+@Component
+public class LoginThrottle {
+
+    public enum Action {
+        LOGIN,
+        FORGOT_PASSWORD
+    }
+
+    private static final long NANOS_PER_MINUTE = TimeUnit.MINUTES.toNanos(1);
+
+    // A brute-force run hits this on every request
+    private static final SampledLogger log =
+            new SampledLogger(LoggerFactory.getLogger(LoginThrottle.class), 10_000);
+
+    private final int maxBuckets;
+
+    // Limits in requests per minute, which is also the burst size
+    private final int loginPerEmail;
+    private final int loginPerIp;
+    private final int forgotPerEmail;
+    private final int forgotPerIp;
+
+    // ConcurrentHashMap is lock-free for reads and striped per bin for writes
+    private final ConcurrentHashMap<String, Bucket> buckets = new ConcurrentHashMap<>();
+
+    // Shared by new keys while the map is full, so an address sweep cannot grow it
+    private final ConcurrentHashMap<String, Bucket> overflow = new ConcurrentHashMap<>();
+
+    private final MeterRegistry registry;
+    private final Clock clock;
+
+    private ScheduledExecutorService evictor;
+
+    @Autowired
+    public LoginThrottle(MeterRegistry registry,
+                         @Value("${throttle.max-buckets:100000}") int maxBuckets,
+                         @Value("${throttle.login.per-email:5}") int loginPerEmail,
+                         @Value("${throttle.login.per-ip:20}") int loginPerIp,
+                         @Value("${throttle.forgot-password.per-email:3}") int forgotPerEmail,
+                         @Value("${throttle.forgot-password.per-ip:10}") int forgotPerIp) {
+        this(registry, maxBuckets, loginPerEmail, loginPerIp, forgotPerEmail, forgotPerIp, Clock.systemUTC());
+    }
+
+    public LoginThrottle(MeterRegistry registry, int maxBuckets,
+                         int loginPerEmail, int loginPerIp, int forgotPerEmail, int forgotPerIp,
+                         Clock clock) {
+        this.registry = registry;
+        this.maxBuckets = maxBuckets;
+        this.clock = clock;
+
+        registry.gaugeMapSize("throttle.buckets", Tags.empty(), buckets);
+        this.loginPerEmail = loginPerEmail;
+        this.loginPerIp = loginPerIp;
+        this.forgotPerEmail = forgotPerEmail;
+        this.forgotPerIp = forgotPerIp;
+    }
+
+    @PostConstruct
+    public void start() {
+        evictor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "login-throttle-evict");
+            t.setDaemon(true);
+            return t;
+        });
+        evictor.scheduleWithFixedDelay(this::evictIdle, 30, 30, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (evictor != null) {
+            evictor.shutdownNow();
+        }
+    }
+
+    // Take one token from both the email and the client buckets or reject with 429.
+    // Either both tokens are taken or neither: a request refused for its address
+    // must not use up the email's allowance, or one busy address locks users out.
+    public void check(Action action, String email, String clientIp) {
+
+        String normalized = email == null ? "" : email.trim().toLowerCase(Locale.ROOT);
+        long now = nanos(clock.instant());
+
+        int perEmail = action == Action.LOGIN ? loginPerEmail : forgotPerEmail;
+        int perIp = action == Action.LOGIN ? loginPerIp : forgotPerIp;
+
+        Bucket emailBucket = bucket(action + ":email:", normalized, perEmail, now);
+        long wait = emailBucket.tryAcquire(now);
+
+        if (wait == 0) {
+            wait = bucket(action + ":ip:", clientIp, perIp, now).tryAcquire(now);
+            if (wait > 0) {
+                emailBucket.refund(now);
+            }
+        }
+
+        if (wait > 0) {
+            registry.counter("throttle.rejected", "action", action.name()).increment();
+            log.warn("Throttled {} for {} from {}", action, normalized, clientIp);
+
+            throw new TooManyRequestsException("TOO_MANY_ATTEMPTS", "Too many attempts, try again later",
+                    Math.max(1, TimeUnit.NANOSECONDS.toSeconds(wait)));
+        }
+    }
+
+    private Bucket bucket(String kind, String id, int perMinute, long now) {
+
+        String key = kind + id;
+
+        Bucket bucket = buckets.get(key);
+        if (bucket != null) {
+            return bucket;
+        }
+
+        if (buckets.size() >= maxBuckets) {
+            return overflow.computeIfAbsent(kind, k -> new Bucket(perMinute, now));
+        }
+
+        return buckets.computeIfAbsent(key, k -> new Bucket(perMinute, now));
+    }
+
+    // A bucket that has refilled completely carries no state worth keeping
+    void evictIdle() {
+        long now = nanos(clock.instant());
+        buckets.values().removeIf(bucket -> bucket.isFull(now));
+    }
+
+    int size() {
+        return buckets.size();
+    }
+
+    // Refill only looks at differences; a clock stepping back refills nothing
+    private static long nanos(Instant instant) {
+        return TimeUnit.SECONDS.toNanos(instant.getEpochSecond()) + instant.getNano();
+    }
+
+    static final class Bucket {
+
+        private final int capacity;
+        private final double tokensPerNano;
+
+        // Immutable snapshot swapped with CAS, no locks on the hot path
+        private final AtomicReference<State> state;
+
+        Bucket(int perMinute, long now) {
+            this.capacity = perMinute;
+            this.tokensPerNano = (double) perMinute / NANOS_PER_MINUTE;
+            this.state = new AtomicReference<>(new State(perMinute, now));
+        }
+
+        // 0 if a token was taken, otherwise nanos until one is available
+        long tryAcquire(long now) {
+            while (true) {
+                State current = state.get();
+                double tokens = refill(current, now);
+
+                if (tokens < 1) {
+                    return (long) Math.ceil((1 - tokens) / tokensPerNano);
+                }
+
+                if (state.compareAndSet(current, new State(tokens - 1, now))) {
+                    return 0;
+                }
+            }
+        }
+
+        // Give back a token taken by tryAcquire
+        void refund(long now) {
+            while (true) {
+                State current = state.get();
+                double tokens = Math.min(capacity, refill(current, now) + 1);
+
+                if (state.compareAndSet(current, new State(tokens, Math.max(now, current.updatedAt)))) {
+                    return;
+                }
+            }
+        }
+
+        boolean isFull(long now) {
+            return refill(state.get(), now) >= capacity;
+        }
+
+        private double refill(State current, long now) {
+            long elapsed = Math.max(0, now - current.updatedAt);
+            return Math.min(capacity, current.tokens + elapsed * tokensPerNano);
+        }
+    }
+
+    private record State(double tokens, long updatedAt) {
+    }
+}
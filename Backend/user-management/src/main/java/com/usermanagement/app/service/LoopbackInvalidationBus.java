@@ -0,0 +1,112 @@
+package com.usermanagement.app.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+// Stand-in transport for multi-node tests. Buses joined to the same Network
+// act as separate nodes and exchange batches in process, through the compact
+// binary form a real transport would put on the wire.
+@Component
+@ConditionalOnProperty(name = "invalidation.bus", havingValue = "loopback")
+public class LoopbackInvalidationBus extends InProcessInvalidationBus {
+
+    public static final class Network {
+
+        // Joined by buses Spring creates, so several contexts in one JVM form a cluster
+        public static final Network SHARED = new Network();
+
+        private final List<LoopbackInvalidationBus> nodes = new CopyOnWriteArrayList<>();
+
+        private void deliver(byte[] message) {
+            for (LoopbackInvalidationBus node : nodes) {
+                node.receive(message);
+            }
+        }
+    }
+
+    private record Batch(String origin, List<InvalidationEvent> events) {
+    }
+
+    private final Network network;
+
+    @Autowired
+    public LoopbackInvalidationBus(MeterRegistry registry,
+                                   @Value("${invalidation.flush-ms:50}") long flushMillis,
+                                   @Value("${invalidation.max-batch:500}") int maxBatch) {
+        this(registry, flushMillis, maxBatch, Network.SHARED);
+    }
+
+    public LoopbackInvalidationBus(MeterRegistry registry, long flushMillis, int maxBatch,
+                                   Network network) {
+        super(registry, flushMillis, maxBatch);
+        this.network = network;
+        network.nodes.add(this);
+    }
+
+    @Override
+    protected void send(String origin, List<InvalidationEvent> batch) {
+        network.deliver(encode(new Batch(origin, batch)));
+    }
+
+    private void receive(byte[] message) {
+        Batch batch = decode(message);
+        receive(batch.origin(), batch.events());
+    }
+
+    @Override
+    public void close() {
+        super.close();
+        network.nodes.remove(this);
+    }
+
+    // origin, count, then per event: topic ordinal, key, value
+    private static byte[] encode(Batch batch) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 + batch.events().size() * 32);
+            DataOutputStream out = new DataOutputStream(bytes);
+
+            out.writeUTF(batch.origin());
+            out.writeInt(batch.events().size());
+            for (InvalidationEvent event : batch.events()) {
+                out.writeByte(event.topic().ordinal());
+                out.writeUTF(event.key());
+                out.writeLong(event.value());
+            }
+
+            return bytes.toByteArray();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private static Batch decode(byte[] message) {
+        try {
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(message));
+
+            String origin = in.readUTF();
+            int count = in.readInt();
+            List<InvalidationEvent> events = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                events.add(new InvalidationEvent(
+                        InvalidationEvent.Topic.values()[in.readByte()], in.readUTF(), in.readLong()));
+            }
+
+            return new Batch(origin, events);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+}
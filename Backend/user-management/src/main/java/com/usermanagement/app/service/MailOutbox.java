@@ -0,0 +1,241 @@
+package com.usermanagement.app.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Bounded queue of outgoing mail drained in batches by background workers
+@Component
+public class MailOutbox {
+
+    private static final Logger log = LoggerFactory.getLogger(MailOutbox.class);
+
+    private static final int DEAD_LETTER_CAPACITY = 100;
+
+    private final JavaMailSender mailSender;
+    private final BlockingQueue<Pending> queue;
+    private final int workers;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final long backoffMillis;
+    private final boolean virtualThreads;
+
+    // Most recent messages that ran out of attempts, oldest first
+    private final Deque<SimpleMailMessage> deadLetters = new ConcurrentLinkedDeque<>();
+    private final AtomicInteger deadLetterCount = new AtomicInteger();
+
+    private final Counter sent;
+    private final Counter failed;
+    private final Counter retried;
+    private final Timer sendTimer;
+
+    private final List<Thread> threads = new ArrayList<>();
+    private ScheduledExecutorService retryScheduler;
+    private volatile boolean running;
+
+    public MailOutbox(JavaMailSender mailSender,
+                      MeterRegistry registry,
+                      @Value("${mail.outbox.capacity:1000}") int capacity,
+                      @Value("${mail.outbox.workers:2}") int workers,
+                      @Value("${mail.outbox.batch-size:20}") int batchSize,
+                      @Value("${mail.outbox.max-attempts:5}") int maxAttempts,
+                      @Value("${mail.outbox.backoff-ms:1000}") long backoffMillis,
+                      @Value("${mail.outbox.virtual-threads:false}") boolean virtualThreads) {
+        this.mailSender = mailSender;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.workers = workers;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.backoffMillis = backoffMillis;
+        this.virtualThreads = virtualThreads;
+
+        this.sent = registry.counter("mail.outbox.messages", "result", "sent");
+        this.failed = registry.counter("mail.outbox.messages", "result", "failed");
+        this.retried = registry.counter("mail.outbox.messages", "result", "retried");
+        this.sendTimer = Timer.builder("mail.outbox.send")
+                .description("One SMTP batch send")
+                .publishPercentileHistogram()
+                .register(registry);
+
+        registry.gauge("mail.outbox.queue.depth", queue, BlockingQueue::size);
+        registry.gauge("mail.outbox.dead.letters", deadLetterCount);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+
+        retryScheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "mail-outbox-retry");
+            t.setDaemon(true);
+            return t;
+        });
+
+        // Off by default: JavaMail's SMTPTransport does its socket I/O inside
+        // synchronized methods, which pins the carrier on JDK 21
+        Thread.Builder builder = virtualThreads
+                ? Thread.ofVirtual().name("mail-outbox-", 0)
+                : Thread.ofPlatform().daemon().name("mail-outbox-", 0);
+
+        for (int i = 0; i < workers; i++) {
+            threads.add(builder.start(this::drain));
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        threads.forEach(Thread::interrupt);
+        if (retryScheduler != null) {
+            retryScheduler.shutdownNow();
+        }
+    }
+
+    // Queue a message without blocking; false if the outbox is full
+    public boolean enqueue(SimpleMailMessage message) {
+        return queue.offer(new Pending(message));
+    }
+
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    public List<SimpleMailMessage> getDeadLetters() {
+        return List.copyOf(deadLetters);
+    }
+
+    public long getSentCount() {
+        return (long) sent.count();
+    }
+
+    public long getFailedCount() {
+        return (long) failed.count();
+    }
+
+    // Mean time of one SMTP batch send, in milliseconds
+    public double getAverageSendLatencyMillis() {
+        return sendTimer.mean(TimeUnit.MILLISECONDS);
+    }
+
+    private void drain() {
+
+        List<Pending> batch = new ArrayList<>(batchSize);
+
+        while (running) {
+            try {
+                Pending first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+
+                send(batch);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException ex) {
+                log.error("Mail outbox worker failed", ex);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    // All messages of a batch go over one SMTP connection
+    private void send(List<Pending> batch) {
+
+        SimpleMailMessage[] messages = batch.stream()
+                .map(p -> p.message)
+                .toArray(SimpleMailMessage[]::new);
+
+        long start = System.nanoTime();
+
+        try {
+            mailSender.send(messages);
+            sent.increment(batch.size());
+        } catch (MailSendException ex) {
+            // Only the messages listed as failed need another attempt
+            Map<Object, Exception> failedMessages = ex.getFailedMessages();
+
+            for (Pending pending : batch) {
+                if (failedMessages.isEmpty() || failedMessages.containsKey(pending.message)) {
+                    retry(pending, ex);
+                } else {
+                    sent.increment();
+                }
+            }
+        } catch (MailException ex) {
+            batch.forEach(pending -> retry(pending, ex));
+        } finally {
+            sendTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void retry(Pending pending, Exception cause) {
+
+        pending.attempts++;
+
+        if (pending.attempts >= maxAttempts || !running) {
+            deadLetter(pending, cause);
+            return;
+        }
+
+        retried.increment();
+
+        // Exponential backoff: backoff, 2x backoff, 4x backoff, ...
+        long delay = backoffMillis << Math.min(pending.attempts - 1, 16);
+
+        retryScheduler.schedule(() -> {
+            if (!queue.offer(pending)) {
+                deadLetter(pending, cause);
+            }
+        }, delay, TimeUnit.MILLISECONDS);
+    }
+
+    private void deadLetter(Pending pending, Exception cause) {
+
+        failed.increment();
+        log.warn("Giving up on mail to {} after {} attempts: {}",
+                String.join(",", pending.message.getTo()), pending.attempts, cause.getMessage());
+
+        deadLetters.addLast(pending.message);
+        if (deadLetterCount.incrementAndGet() > DEAD_LETTER_CAPACITY) {
+            deadLetters.pollFirst();
+            deadLetterCount.decrementAndGet();
+        }
+    }
+
+    private static final class Pending {
+
+        private final SimpleMailMessage message;
+        private int attempts;
+
+        private Pending(SimpleMailMessage message) {
+            this.message = message;
+        }
+    }
+}
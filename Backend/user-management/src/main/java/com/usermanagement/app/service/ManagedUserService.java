@@ -1,58 +1,269 @@
 package com.usermanagement.app.service;
 
+import com.usermanagement.app.dto.ManagedUserDTO;
+import com.usermanagement.app.dto.UserPageDTO;
 import com.usermanagement.app.entity.ManagedUser;
+import com.usermanagement.app.exception.ConflictException;
+import com.usermanagement.app.exception.NotFoundException;
+import com.usermanagement.app.exception.ValidationException;
 import com.usermanagement.app.repository.ManagedUserRepository;
+import com.usermanagement.app.util.AfterCommit;
+import com.usermanagement.app.util.ConstraintViolations;
+import com.usermanagement.app.util.EmailAddress;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
 import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Optional;
 
 @Service
 public class ManagedUserService {
 
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 200;
+
+    public static final int DEFAULT_SEARCH_SIZE = 10;
+    public static final int MAX_SEARCH_SIZE = 50;
+
+    // Ids per DELETE ... IN (...) statement
+    static final int DELETE_CHUNK_SIZE = 1000;
+
     private final ManagedUserRepository repo;
+    private final UserSearchIndex searchIndex;
+    private final UserListCache listCache;
+    private final InvalidationBus bus;
+    private final AuditJournal auditJournal;
+    private final TransactionTemplate transactionTemplate;
 
-    public ManagedUserService(ManagedUserRepository repo) {
+    public ManagedUserService(ManagedUserRepository repo, UserSearchIndex searchIndex,
+                              UserListCache listCache, InvalidationBus bus,
+                              AuditJournal auditJournal, TransactionTemplate transactionTemplate) {
         this.repo = repo;
+        this.searchIndex = searchIndex;
+        this.listCache = listCache;
+        this.bus = bus;
+        this.auditJournal = auditJournal;
+        this.transactionTemplate = transactionTemplate;
     }
 
     // Add a new user under a specific admin
     public ManagedUser addUser(String name, String email, Long adminId){
 
         if(name == null || name.trim().isEmpty()){
-            throw new RuntimeException("Name is required");
+            throw new ValidationException("NAME_REQUIRED", "Name is required");
         }
 
         if(email == null || email.trim().isEmpty()){
-            throw new RuntimeException("Email is required");
+            throw new ValidationException("EMAIL_REQUIRED", "Email is required");
+        }
+
+        String trimmedName = name.trim();
+        String canonicalEmail = EmailAddress.of(email).value();
+
+        // Checked here so the only integrity error left on insert is the duplicate
+        if(trimmedName.length() > ManagedUser.NAME_LENGTH){
+            throw new ValidationException("NAME_TOO_LONG",
+                    "Name must be at most " + ManagedUser.NAME_LENGTH + " characters");
+        }
+
+        if(canonicalEmail.length() > ManagedUser.EMAIL_LENGTH){
+            throw new ValidationException("EMAIL_TOO_LONG",
+                    "Email must be at most " + ManagedUser.EMAIL_LENGTH + " characters");
+        }
+
+        // No existence check first: the insert itself skips a taken email, in
+        // one round trip. Two concurrent adds that both pass its check are
+        // settled by the (email, admin_id) unique constraint.
+        Optional<Long> id;
+        try {
+            id = repo.insertIfAbsent(trimmedName, canonicalEmail, adminId);
+        } catch (DataIntegrityViolationException ex) {
+            if(!ConstraintViolations.isViolationOf(ex, ManagedUser.EMAIL_ADMIN_CONSTRAINT)){
+                throw ex;
+            }
+            id = Optional.empty();
         }
 
-        if(repo.existsByEmailIgnoreCaseAndAdminId(email, adminId)){
-            throw new RuntimeException("User email already exists for this admin");
+        if(id.isEmpty()){
+            throw new ConflictException("USER_EMAIL_EXISTS", "User email already exists for this admin");
         }
 
-        ManagedUser user = new ManagedUser();
-        user.setName(name);
-        user.setEmail(email);
-        user.setAdminId(adminId);
+        ManagedUser saved = new ManagedUser();
+        saved.setId(id.get());
+        saved.setName(trimmedName);
+        saved.setEmail(canonicalEmail);
+        saved.setAdminId(adminId);
+
+        searchIndex.add(saved);
+        usersChanged(adminId);
+        auditJournal.append(AuditRecord.Action.ADD_USER, adminId, saved.getId(), saved.getEmail());
+
+        return saved;
+    }
+
+    // Fetch one page of users under an admin, ordered by id (cached until the
+    // admin's users change)
+    public UserPageDTO listUsers(Long adminId, String cursor, Integer limit){
 
-        return repo.save(user);
+        int size = pageSize(limit);
+        Long afterId = decodeCursor(cursor);
+
+        return listCache.get(adminId, afterId, size, () -> loadPage(adminId, afterId, size));
+    }
+
+    // Strong ETag of one list page, computed without touching the database.
+    // Taken before the page is read, so a write in between only costs a refetch.
+    public String listETag(Long adminId, String cursor, Integer limit){
+        // Admin id included so another admin on the same device never matches
+        return "\"" + adminId + "." + listCache.versionTag(adminId) + "." + decodeCursor(cursor)
+                + "." + pageSize(limit) + "\"";
     }
 
-    // Fetch all users under an admin
-    public List<ManagedUser> listUsers(Long adminId){
-        return repo.findByAdminId(adminId);
+    private UserPageDTO loadPage(Long adminId, Long afterId, int size){
+
+        // Ask for one extra row to learn whether another page exists
+        List<ManagedUserDTO> rows = repo.findPageByAdminId(
+                adminId, afterId, Limit.of(size + 1));
+
+        if (rows.size() <= size) {
+            return new UserPageDTO(rows, null);
+        }
+
+        List<ManagedUserDTO> page = List.copyOf(rows.subList(0, size));
+        return new UserPageDTO(page, encodeCursor(page.get(size - 1).getId()));
     }
 
     // Delete user by id (only under same admin)
     public void deleteUser(Long id, Long adminId){
 
-        ManagedUser user = repo.findById(id)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+        // Users of other admins are indistinguishable from missing ones
+        if(repo.deleteByIdAndAdminId(id, adminId) == 0){
+            throw new NotFoundException("USER_NOT_FOUND", "User not found");
+        }
+
+        searchIndex.remove(adminId, id);
+        usersChanged(adminId);
+        auditJournal.append(AuditRecord.Action.DELETE_USER, adminId, id, null);
+    }
+
+    // Delete many users of an admin by id, returns rows removed. All chunks
+    // commit together; the index and caches change only once they have.
+    @Transactional
+    public int deleteUsers(Long adminId, Collection<Long> ids){
+
+        List<Long> distinct = ids.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+
+        // One statement per chunk, which also returns the ids it removed:
+        // only this admin's existing users, each audited once
+        List<Long> removed = new ArrayList<>();
+        for(int from = 0; from < distinct.size(); from += DELETE_CHUNK_SIZE){
+            int to = Math.min(from + DELETE_CHUNK_SIZE, distinct.size());
+            removed.addAll(repo.deleteReturningIdsByAdminIdAndIdIn(adminId, distinct.subList(from, to)));
+        }
+
+        afterDelete(adminId, removed, null);
+        return removed.size();
+    }
+
+    // Delete every user of an admin whose email is in the domain. Each chunk
+    // commits on its own, so the ids held for the audit stay bounded however
+    // large the domain; a failure keeps the chunks already deleted.
+    public int deleteUsersByEmailDomain(Long adminId, String domain){
+
+        String normalized = domain.trim().toLowerCase(Locale.ROOT);
+        if(normalized.startsWith("@")){
+            normalized = normalized.substring(1);
+        }
+
+        if(normalized.isEmpty()){
+            throw new ValidationException("EMAIL_DOMAIN_REQUIRED", "Email domain is required");
+        }
+
+        String escaped = normalized
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+
+        String pattern = "%@" + escaped;
+        String detail = "@" + normalized;
+
+        int deleted = 0;
+        List<Long> removed;
+        do {
+            removed = transactionTemplate.execute(status -> {
+                List<Long> chunk = repo.deleteReturningIdsByAdminIdAndEmailLike(
+                        adminId, pattern, DELETE_CHUNK_SIZE);
+                afterDelete(adminId, chunk, detail);
+                return chunk;
+            });
+            deleted += removed.size();
+        } while(removed.size() == DELETE_CHUNK_SIZE);
+
+        return deleted;
+    }
+
+    // Index, caches and one journal record per removed user follow the commit
+    private void afterDelete(Long adminId, List<Long> ids, String detail){
+
+        if(!ids.isEmpty()){
+            AfterCommit.run(() -> {
+                for(Long id : ids){
+                    searchIndex.remove(adminId, id);
+                    auditJournal.append(AuditRecord.Action.BULK_DELETE_USER, adminId, id, detail);
+                }
+                usersChanged(adminId);
+            });
+        }
+    }
+
+    // Typeahead over an admin's users by name or email substring, word prefixes first
+    public List<ManagedUserDTO> searchUsers(Long adminId, String query, Integer limit){
+
+        int size = limit == null ? DEFAULT_SEARCH_SIZE
+                : Math.max(1, Math.min(limit, MAX_SEARCH_SIZE));
+
+        return searchIndex.search(adminId, query, size);
+    }
+
+    // Local caches are updated in place; other nodes drop theirs
+    private void usersChanged(Long adminId){
+        listCache.invalidate(adminId);
+        bus.publish(InvalidationEvent.usersChanged(adminId));
+    }
+
+    static int pageSize(Integer limit){
+        return limit == null ? DEFAULT_PAGE_SIZE
+                : Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+    }
 
-        if(!user.getAdminId().equals(adminId)){
-            throw new RuntimeException("Unauthorized delete attempt");
+    static String encodeCursor(Long lastId){
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(lastId.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    static Long decodeCursor(String cursor){
+
+        if(cursor == null || cursor.isBlank()){
+            return 0L;
         }
 
-        repo.delete(user);
+        try {
+            return Long.parseLong(new String(
+                    Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException ex) {
+            throw new ValidationException("INVALID_CURSOR", "Invalid cursor");
+        }
     }
 }
@@ -0,0 +1,31 @@
+package com.usermanagement.app.service;
+
+import java.time.Duration;
+
+// Short-lived one-time passwords keyed by canonical email
+public interface OtpStore {
+
+    enum Check {
+        VALID,
+        INVALID,
+        EXPIRED,
+        NOT_REQUESTED,
+        TOO_MANY_ATTEMPTS
+    }
+
+    // Store a new code, replacing any live one. Returns false without storing
+    // when maxIssues codes were already issued while the previous one was live.
+    boolean issue(String email, String otp, Duration ttl, int maxIssues);
+
+    // The code could not be delivered: drop it if it is still the live one and
+    // give back the issue it counted against
+    void withdraw(String email, String otp);
+
+    // Check a code; a valid code is consumed, a wrong one counts as an attempt
+    Check verify(String email, String otp, int maxAttempts);
+
+    // Another node issued or used a code for the email; drop any code held
+    // locally. Shared stores have nothing to drop.
+    default void evict(String email) {
+    }
+}
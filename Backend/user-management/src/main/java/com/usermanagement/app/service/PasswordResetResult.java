@@ -0,0 +1,32 @@
+package com.usermanagement.app.service;
+
+import org.springframework.http.HttpStatus;
+
+// Outcome of a password reset. Wrong or stale codes are everyday results,
+// so they are returned rather than thrown.
+public enum PasswordResetResult {
+
+    RESET(HttpStatus.OK, "Password reset successfully"),
+    WEAK_PASSWORD(HttpStatus.BAD_REQUEST, "Password must be at least 6 characters"),
+    OTP_NOT_REQUESTED(HttpStatus.BAD_REQUEST, "OTP not requested"),
+    INVALID_OTP(HttpStatus.BAD_REQUEST, "Invalid OTP"),
+    OTP_EXPIRED(HttpStatus.BAD_REQUEST, "OTP expired"),
+    TOO_MANY_ATTEMPTS(HttpStatus.TOO_MANY_REQUESTS, "Too many attempts, request a new OTP"),
+    EMAIL_NOT_FOUND(HttpStatus.NOT_FOUND, "Email not found");
+
+    private final HttpStatus status;
+    private final String message;
+
+    PasswordResetResult(HttpStatus status, String message) {
+        this.status = status;
+        this.message = message;
+    }
+
+    public HttpStatus getStatus() {
+        return status;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+}
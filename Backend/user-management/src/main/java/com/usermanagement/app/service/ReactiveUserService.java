@@ -0,0 +1,86 @@
+package com.usermanagement.app.service;
+
+import com.usermanagement.app.dto.ManagedUserDTO;
+import com.usermanagement.app.dto.UserPageDTO;
+import com.usermanagement.app.exception.NotFoundException;
+import io.r2dbc.spi.Readable;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+// Read-only managed user queries over R2DBC. No thread waits on the database:
+// rows are pushed to the publisher as the driver reads them, so a slow query or
+// client holds a connection but neither a Tomcat nor a worker thread.
+@Service
+public class ReactiveUserService {
+
+    // Rows fetched per query while streaming
+    static final int STREAM_PAGE_SIZE = 200;
+
+    // Same keyset query as ManagedUserRepository.findPageByAdminId
+    private static final String PAGE_QUERY = "select id, name, email from managed_users "
+            + "where admin_id = :adminId and id > :afterId order by id limit :limit";
+
+    private static final String USER_QUERY = "select id, name, email from managed_users "
+            + "where id = :id and admin_id = :adminId";
+
+    private final DatabaseClient db;
+
+    public ReactiveUserService(DatabaseClient db) {
+        this.db = db;
+    }
+
+    // Every user of an admin, one keyset page at a time. The next page is
+    // only queried once the client has taken the rows of the current one.
+    public Flux<ManagedUserDTO> streamUsers(Long adminId) {
+        return fetchPage(adminId, 0L, STREAM_PAGE_SIZE)
+                .expand(page -> page.size() < STREAM_PAGE_SIZE
+                        ? Mono.empty()
+                        : fetchPage(adminId, page.get(page.size() - 1).getId(), STREAM_PAGE_SIZE))
+                .concatMapIterable(page -> page, 1);
+    }
+
+    // Same pages and cursors as ManagedUserService.listUsers, read past its cache
+    public Mono<UserPageDTO> listUsers(Long adminId, String cursor, Integer limit) {
+
+        int size = ManagedUserService.pageSize(limit);
+        Long afterId = ManagedUserService.decodeCursor(cursor);
+
+        // One extra row tells whether another page exists
+        return fetchPage(adminId, afterId, size + 1).map(rows -> {
+            if (rows.size() <= size) {
+                return new UserPageDTO(rows, null);
+            }
+
+            List<ManagedUserDTO> page = List.copyOf(rows.subList(0, size));
+            return new UserPageDTO(page, ManagedUserService.encodeCursor(page.get(size - 1).getId()));
+        });
+    }
+
+    public Mono<ManagedUserDTO> getUser(Long adminId, Long id) {
+        return db.sql(USER_QUERY)
+                .bind("id", id)
+                .bind("adminId", adminId)
+                .map(ReactiveUserService::toDto)
+                .one()
+                .switchIfEmpty(Mono.error(() -> new NotFoundException("USER_NOT_FOUND", "User not found")));
+    }
+
+    private Mono<List<ManagedUserDTO>> fetchPage(Long adminId, Long afterId, int limit) {
+        return db.sql(PAGE_QUERY)
+                .bind("adminId", adminId)
+                .bind("afterId", afterId)
+                .bind("limit", limit)
+                .map(ReactiveUserService::toDto)
+                .all()
+                .collectList();
+    }
+
+    private static ManagedUserDTO toDto(Readable row) {
+        return new ManagedUserDTO(row.get("id", Long.class), row.get("name", String.class),
+                row.get("email", String.class));
+    }
+}
@@ -0,0 +1,168 @@
+package com.usermanagement.app.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.usermanagement.app.entity.RevokedToken;
+import com.usermanagement.app.repository.RevokedTokenRepository;
+import com.usermanagement.app.util.BloomFilter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Logged out tokens, by jti. The revoked_tokens table is the exact set; every
+// request first asks a Bloom filter, so only possible matches reach it.
+//
+// Filters are bucketed by token expiry hour: a token is only ever checked
+// against the one bucket its exp claim falls in, and a whole bucket is dropped
+// once every token in it has expired, so memory follows the live revocations.
+@Service
+public class TokenRevocationService {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenRevocationService.class);
+
+    private static final long BUCKET_MILLIS = Duration.ofHours(1).toMillis();
+
+    // Kept past the bucket's end, covers the JWT clock skew allowance
+    private static final long GRACE_MILLIS = Duration.ofMinutes(2).toMillis();
+
+    private final RevokedTokenRepository repo;
+    private final InvalidationBus bus;
+    private final int bucketCapacity;
+    private final double falsePositiveRate;
+
+    // Expiry hour (epoch millis / BUCKET_MILLIS) -> filter of jtis expiring then
+    private final Map<Long, BloomFilter> buckets = new ConcurrentHashMap<>();
+
+    // Answers from the table for filter hits, so neither a reused revoked token
+    // nor a live token that collides in the filter queries it every request
+    private final Cache<String, Boolean> exact;
+
+    private final Counter filtered;
+    private final Counter revoked;
+    private final Counter falsePositives;
+
+    private ScheduledExecutorService purger;
+
+    public TokenRevocationService(RevokedTokenRepository repo,
+                                  InvalidationBus bus,
+                                  MeterRegistry registry,
+                                  @Value("${token.revocation.bucket-capacity:10000}") int bucketCapacity,
+                                  @Value("${token.revocation.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.repo = repo;
+        this.bus = bus;
+        this.bucketCapacity = bucketCapacity;
+        this.falsePositiveRate = falsePositiveRate;
+
+        this.exact = Caffeine.newBuilder()
+                .maximumSize(10_000)
+                .expireAfterWrite(Duration.ofMinutes(10))
+                .build();
+
+        this.filtered = registry.counter("token.revocation.checks", "result", "filtered");
+        this.revoked = registry.counter("token.revocation.checks", "result", "revoked");
+        this.falsePositives = registry.counter("token.revocation.checks", "result", "false_positive");
+
+        registry.gaugeMapSize("token.revocation.buckets", Tags.empty(), buckets);
+    }
+
+    @PostConstruct
+    public void start() {
+        // Revocations made before a restart still apply
+        for (RevokedToken token : repo.findByExpiresAtAfter(LocalDateTime.now())) {
+            remember(token.getTokenId(), toInstant(token.getExpiresAt()));
+        }
+
+        purger = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "revoked-token-purge");
+            t.setDaemon(true);
+            return t;
+        });
+        purger.scheduleWithFixedDelay(this::purge, 1, 1, TimeUnit.MINUTES);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (purger != null) {
+            purger.shutdownNow();
+        }
+    }
+
+    // Revoke one token until it expires
+    public void revoke(String tokenId, Instant expiresAt) {
+
+        RevokedToken token = new RevokedToken();
+        token.setTokenId(tokenId);
+        token.setExpiresAt(LocalDateTime.ofInstant(expiresAt, ZoneId.systemDefault()));
+        repo.save(token);
+
+        remember(tokenId, expiresAt);
+        bus.publish(InvalidationEvent.tokenRevoked(tokenId, expiresAt));
+    }
+
+    // Another node revoked the token; the row is already in the table
+    public void revokedElsewhere(String tokenId, Instant expiresAt) {
+        remember(tokenId, expiresAt);
+    }
+
+    // Tokens without a jti predate revocation and can only be revoked all at once
+    public boolean isRevoked(String tokenId, Instant expiresAt) {
+
+        if (tokenId == null || expiresAt == null) {
+            return false;
+        }
+
+        BloomFilter filter = buckets.get(bucket(expiresAt));
+        if (filter == null || !filter.mightContain(tokenId)) {
+            filtered.increment();
+            return false;
+        }
+
+        boolean result = exact.get(tokenId, repo::existsById);
+        (result ? revoked : falsePositives).increment();
+        return result;
+    }
+
+    private void remember(String tokenId, Instant expiresAt) {
+        buckets.computeIfAbsent(bucket(expiresAt),
+                        b -> new BloomFilter(bucketCapacity, falsePositiveRate))
+                .add(tokenId);
+        exact.put(tokenId, true);
+    }
+
+    private void purge() {
+        long now = System.currentTimeMillis();
+        buckets.keySet().removeIf(b -> (b + 1) * BUCKET_MILLIS + GRACE_MILLIS < now);
+
+        // A failed run must not cancel the schedule
+        try {
+            repo.deleteExpired(LocalDateTime.now().minus(Duration.ofMillis(GRACE_MILLIS)));
+        } catch (RuntimeException ex) {
+            log.warn("Purging expired revoked tokens failed", ex);
+        }
+    }
+
+    private static long bucket(Instant expiresAt) {
+        return expiresAt.toEpochMilli() / BUCKET_MILLIS;
+    }
+
+    private static Instant toInstant(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant();
+    }
+}
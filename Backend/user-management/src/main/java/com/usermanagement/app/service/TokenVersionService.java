@@ -0,0 +1,74 @@
+package com.usermanagement.app.service;
+
+import com.usermanagement.app.repository.LoginUserRepository;
+import com.usermanagement.app.util.AfterCommit;
+
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Service
+public class TokenVersionService {
+
+    // Returned for users that no longer exist, never matches a token
+    private static final int UNKNOWN = -1;
+
+    private final LoginUserRepository loginUserRepository;
+    private final InvalidationBus bus;
+
+    // User id -> current token version, loaded once per user. Versions only
+    // grow, so entries are merged with max: a load that read the row just
+    // before a bump committed can never overwrite the newer version.
+    private final Map<Long, Integer> versions = new ConcurrentHashMap<>();
+
+    public TokenVersionService(LoginUserRepository loginUserRepository, InvalidationBus bus) {
+        this.loginUserRepository = loginUserRepository;
+        this.bus = bus;
+    }
+
+    // True if a token carrying this version is still valid for the user
+    public boolean isCurrent(Long userId, int tokenVersion) {
+        return currentVersion(userId) == tokenVersion;
+    }
+
+    public int currentVersion(Long userId) {
+        Integer version = versions.get(userId);
+
+        if (version == null) {
+            version = loginUserRepository.findTokenVersionById(userId)
+                    .orElse(UNKNOWN);
+
+            if (version != UNKNOWN) {
+                version = versions.merge(userId, version, Math::max);
+            }
+        }
+
+        return version;
+    }
+
+    // Invalidate every token issued to the user so far. Incremented in the
+    // database, so concurrent bumps never collapse into one; the cache and
+    // other nodes only see the new version once the transaction commits.
+    // False if the user does not exist.
+    public boolean bump(Long userId) {
+
+        if (loginUserRepository.incrementTokenVersion(userId) == 0) {
+            return false;
+        }
+
+        int version = loginUserRepository.findTokenVersionById(userId).orElse(UNKNOWN);
+
+        AfterCommit.run(() -> {
+            versions.merge(userId, version, Math::max);
+            bus.publish(InvalidationEvent.tokenVersion(userId));
+        });
+
+        return true;
+    }
+
+    // Forget the cached version so the next check reloads it
+    public void evict(Long userId) {
+        versions.remove(userId);
+    }
+}
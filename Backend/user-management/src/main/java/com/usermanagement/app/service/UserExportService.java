@@ -0,0 +1,143 @@
+package com.usermanagement.app.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.usermanagement.app.entity.ManagedUser;
+import com.usermanagement.app.exception.ValidationException;
+import com.usermanagement.app.repository.ManagedUserRepository;
+
+import jakarta.persistence.EntityManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+@Service
+public class UserExportService {
+
+    public enum Format {
+        NDJSON("application/x-ndjson", "ndjson"),
+        CSV("text/csv", "csv");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        public static Format of(String value) {
+            for (Format format : values()) {
+                if (format.extension.equalsIgnoreCase(value)) {
+                    return format;
+                }
+            }
+            throw new ValidationException("UNSUPPORTED_FORMAT", "Unsupported export format: " + value);
+        }
+    }
+
+    private final ManagedUserRepository repo;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    public UserExportService(ManagedUserRepository repo,
+                             EntityManager entityManager,
+                             ObjectMapper objectMapper) {
+        this.repo = repo;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+    }
+
+    // Stream every user of an admin to the output, one row at a time
+    @Transactional(readOnly = true)
+    public void export(Long adminId, Format format, OutputStream out) throws IOException {
+
+        Writer writer = new BufferedWriter(
+                new OutputStreamWriter(out, StandardCharsets.UTF_8));
+
+        try (Stream<ManagedUser> rows = repo.streamByAdminId(adminId)) {
+
+            Iterator<ManagedUser> it = rows.iterator();
+
+            if (format == Format.CSV) {
+                writeCsv(it, writer);
+            } else {
+                writeNdjson(it, writer);
+            }
+        }
+
+        writer.flush();
+    }
+
+    private void writeNdjson(Iterator<ManagedUser> it, Writer writer) throws IOException {
+
+        JsonGenerator gen = objectMapper.getFactory().createGenerator(writer);
+        gen.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        gen.setRootValueSeparator(null);
+
+        while (it.hasNext()) {
+            ManagedUser user = it.next();
+
+            gen.writeStartObject();
+            gen.writeNumberField("id", user.getId());
+            gen.writeStringField("name", user.getName());
+            gen.writeStringField("email", user.getEmail());
+            gen.writeEndObject();
+            gen.writeRaw('\n');
+
+            // Keep the persistence context from growing with the export
+            entityManager.detach(user);
+        }
+
+        gen.flush();
+    }
+
+    private void writeCsv(Iterator<ManagedUser> it, Writer writer) throws IOException {
+
+        writer.write("id,name,email\n");
+
+        while (it.hasNext()) {
+            ManagedUser user = it.next();
+
+            writer.write(String.valueOf(user.getId()));
+            writer.write(',');
+            writer.write(csv(user.getName()));
+            writer.write(',');
+            writer.write(csv(user.getEmail()));
+            writer.write('\n');
+
+            entityManager.detach(user);
+        }
+    }
+
+    // Quote a CSV field when it contains a separator, quote or newline
+    private static String csv(String value) {
+
+        if (value == null) {
+            return "";
+        }
+
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0
+                && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,387 @@
+package com.usermanagement.app.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.usermanagement.app.dto.ImportResultDTO;
+import com.usermanagement.app.entity.ManagedUser;
+import com.usermanagement.app.exception.ValidationException;
+import com.usermanagement.app.repository.ManagedUserRepository;
+import com.usermanagement.app.util.ConstraintViolations;
+import com.usermanagement.app.util.EmailAddress;
+
+import jakarta.persistence.EntityManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+@Service
+public class UserImportService {
+
+    // Rows checked and inserted per transaction
+    static final int CHUNK_SIZE = 500;
+
+    private final ManagedUserRepository repo;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final UserSearchIndex searchIndex;
+    private final UserListCache listCache;
+    private final InvalidationBus bus;
+    private final AuditJournal auditJournal;
+
+    public UserImportService(ManagedUserRepository repo,
+                             EntityManager entityManager,
+                             TransactionTemplate transactionTemplate,
+                             ObjectMapper objectMapper,
+                             UserSearchIndex searchIndex,
+                             UserListCache listCache,
+                             InvalidationBus bus,
+                             AuditJournal auditJournal) {
+        this.repo = repo;
+        this.entityManager = entityManager;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.searchIndex = searchIndex;
+        this.listCache = listCache;
+        this.bus = bus;
+        this.auditJournal = auditJournal;
+    }
+
+    // Import CSV rows: name,email, or any columns under a header line that
+    // names them (so an export, with its id column, imports as is)
+    public ImportResultDTO importCsv(Long adminId, InputStream in) throws IOException {
+
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            return importCsv(adminId, reader);
+        }
+    }
+
+    private ImportResultDTO importCsv(Long adminId, BufferedReader reader) throws IOException {
+
+        return importRows(adminId, new RowSource() {
+
+            private boolean first = true;
+            private int nameColumn = 0;
+            private int emailColumn = 1;
+
+            @Override
+            public Row next() throws IOException {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (line.isBlank()) {
+                        continue;
+                    }
+
+                    List<String> fields = splitCsv(line);
+
+                    if (first) {
+                        first = false;
+                        if (isHeader(fields)) {
+                            nameColumn = column(fields, "name");
+                            emailColumn = column(fields, "email");
+                            continue;
+                        }
+                    }
+
+                    return new Row(field(fields, nameColumn), field(fields, emailColumn));
+                }
+                return null;
+            }
+        });
+    }
+
+    // Import {"name": ..., "email": ...} objects, as a JSON array or as NDJSON
+    // (one object per line, the export format); other fields are ignored
+    public ImportResultDTO importJson(Long adminId, InputStream in) throws IOException {
+
+        try (JsonParser parser = objectMapper.getFactory().createParser(in)) {
+            return importJson(adminId, parser);
+        }
+    }
+
+    private ImportResultDTO importJson(Long adminId, JsonParser parser) throws IOException {
+
+        JsonToken start = parser.nextToken();
+        boolean array = start == JsonToken.START_ARRAY;
+
+        if (!array && start != JsonToken.START_OBJECT) {
+            throw new ValidationException("INVALID_IMPORT", "Expected a JSON array or NDJSON of users");
+        }
+
+        return importRows(adminId, new RowSource() {
+
+            // In NDJSON the first object has already been read
+            private boolean pending = !array;
+
+            @Override
+            public Row next() throws IOException {
+                JsonToken token = pending ? parser.currentToken() : parser.nextToken();
+                pending = false;
+
+                if (token == null || token == JsonToken.END_ARRAY) {
+                    return null;
+                }
+
+                return readUser(parser, token);
+            }
+        });
+    }
+
+    private static Row readUser(JsonParser parser, JsonToken token) throws IOException {
+
+        if (token != JsonToken.START_OBJECT) {
+            throw new ValidationException("INVALID_IMPORT", "Expected a JSON object per user");
+        }
+
+        String name = null;
+        String email = null;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            parser.nextToken();
+
+            // Only scalars count; an object or array reads as missing
+            if ("name".equals(field)) {
+                name = parser.getValueAsString();
+            } else if ("email".equals(field)) {
+                email = parser.getValueAsString();
+            }
+
+            // Steps over nested values, a no-op for scalars
+            parser.skipChildren();
+        }
+
+        return new Row(name, email);
+    }
+
+    private ImportResultDTO importRows(Long adminId, RowSource source) throws IOException {
+
+        ImportResultDTO result = new ImportResultDTO();
+
+        // Emails seen earlier in this import, to reject duplicates inside the file
+        Set<String> seen = new HashSet<>();
+
+        List<Row> chunk = new ArrayList<>(CHUNK_SIZE);
+        int rowNumber = 0;
+        Row row;
+
+        while ((row = source.next()) != null) {
+            row.number = ++rowNumber;
+
+            String message = validate(row, seen);
+            if (message != null) {
+                result.reject(row.number, row.email, message);
+                continue;
+            }
+
+            chunk.add(row);
+            if (chunk.size() == CHUNK_SIZE) {
+                insertChunk(adminId, chunk, result);
+                chunk.clear();
+            }
+        }
+
+        if (!chunk.isEmpty()) {
+            insertChunk(adminId, chunk, result);
+        }
+
+        // Rejections are recorded before their chunk is inserted
+        result.getRows().sort(Comparator.comparingInt(ImportResultDTO.RowResult::getRow));
+        return result;
+    }
+
+    private String validate(Row row, Set<String> seen) {
+
+        if (row.name == null || row.name.trim().isEmpty()) {
+            return "Name is required";
+        }
+
+        if (row.email == null || row.email.trim().isEmpty()) {
+            return "Email is required";
+        }
+
+        row.name = row.name.trim();
+        row.email = EmailAddress.of(row.email).value();
+
+        if (row.name.length() > ManagedUser.NAME_LENGTH) {
+            return "Name must be at most " + ManagedUser.NAME_LENGTH + " characters";
+        }
+
+        if (row.email.length() > ManagedUser.EMAIL_LENGTH) {
+            return "Email must be at most " + ManagedUser.EMAIL_LENGTH + " characters";
+        }
+
+        if (!EmailAddress.of(row.email).isWellFormed()) {
+            return "Email is not a valid address";
+        }
+
+        if (!seen.add(row.email)) {
+            return "Duplicate email in import";
+        }
+
+        return null;
+    }
+
+    // One set-based duplicate check and one batched insert per chunk
+    private void insertChunk(Long adminId, List<Row> chunk, ImportResultDTO result) {
+
+        Set<String> existing = new HashSet<>(repo.findExistingEmails(
+                adminId, chunk.stream().map(r -> r.email).toList()));
+
+        List<Row> fresh = new ArrayList<>(chunk.size());
+        for (Row row : chunk) {
+            if (existing.contains(row.email)) {
+                result.reject(row.number, row.email, "User email already exists for this admin");
+            } else {
+                fresh.add(row);
+            }
+        }
+
+        if (fresh.isEmpty()) {
+            return;
+        }
+
+        List<Row> inserted = fresh;
+        List<ManagedUser> saved;
+        try {
+            saved = insert(adminId, fresh);
+        } catch (RuntimeException ex) {
+            if (!isEmailConflict(ex)) {
+                throw ex;
+            }
+
+            // A concurrent insert won the race for some of these emails:
+            // retry one by one and reject only the rows that really conflict
+            inserted = new ArrayList<>(fresh.size());
+            saved = new ArrayList<>(fresh.size());
+
+            for (Row row : fresh) {
+                try {
+                    saved.addAll(insert(adminId, List.of(row)));
+                    inserted.add(row);
+                } catch (RuntimeException rowEx) {
+                    if (!isEmailConflict(rowEx)) {
+                        throw rowEx;
+                    }
+                    result.reject(row.number, row.email, "User email already exists for this admin");
+                }
+            }
+
+            if (inserted.isEmpty()) {
+                return;
+            }
+        }
+
+        for (int i = 0; i < inserted.size(); i++) {
+            result.accept(inserted.get(i).number, inserted.get(i).email, saved.get(i).getId());
+            searchIndex.add(saved.get(i));
+            auditJournal.append(AuditRecord.Action.ADD_USER, adminId, saved.get(i).getId(), inserted.get(i).email);
+        }
+        listCache.invalidate(adminId);
+        bus.publish(InvalidationEvent.usersChanged(adminId));
+    }
+
+    private static boolean isEmailConflict(RuntimeException ex) {
+        return ConstraintViolations.isViolationOf(ex, ManagedUser.EMAIL_ADMIN_CONSTRAINT);
+    }
+
+    // One transaction, one batched flush
+    private List<ManagedUser> insert(Long adminId, List<Row> rows) {
+        return transactionTemplate.execute(status -> {
+            List<ManagedUser> users = new ArrayList<>(rows.size());
+
+            for (Row row : rows) {
+                ManagedUser user = new ManagedUser();
+                user.setName(row.name);
+                user.setEmail(row.email);
+                user.setAdminId(adminId);
+
+                entityManager.persist(user);
+                users.add(user);
+            }
+
+            entityManager.flush();
+            entityManager.clear();
+            return users;
+        });
+    }
+
+    // A first line naming an email column, with or without name and id
+    private static boolean isHeader(List<String> fields) {
+        return column(fields, "email") >= 0;
+    }
+
+    private static int column(List<String> fields, String name) {
+        for (int i = 0; i < fields.size(); i++) {
+            if (fields.get(i).trim().equalsIgnoreCase(name)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static String field(List<String> fields, int column) {
+        return column >= 0 && column < fields.size() ? fields.get(column) : null;
+    }
+
+    // Minimal RFC 4180 field splitter for a single line
+    private static List<String> splitCsv(String line) {
+
+        List<String> fields = new ArrayList<>(2);
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private interface RowSource {
+        Row next() throws IOException;
+    }
+
+    private static class Row {
+
+        private int number;
+        private String name;
+        private String email;
+
+        private Row(String name, String email) {
+            this.name = name;
+            this.email = email;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.usermanagement.app.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.usermanagement.app.dto.UserPageDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+// Read-through cache of list pages. Every key carries the admin's current
+// version; a write bumps the version, so that admin's old pages can never be
+// served again and simply age out, while other admins keep their entries.
+@Component
+public class UserListCache {
+
+    private record PageKey(Long adminId, long version, Long afterId, int size) {
+    }
+
+    private final Cache<PageKey, UserPageDTO> pages;
+
+    // Admin id -> version, bumped after every committed write
+    private final ConcurrentHashMap<Long, AtomicLong> versions = new ConcurrentHashMap<>();
+
+    // Versions restart at 0 with the process, so tags also carry the start time
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+
+    public UserListCache(MeterRegistry registry,
+                         @Value("${user-list.cache.max-pages:10000}") long maxPages,
+                         @Value("${user-list.cache.ttl-seconds:300}") long ttlSeconds) {
+
+        this.pages = Caffeine.newBuilder()
+                .maximumSize(maxPages)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+
+        // cache.gets{result=hit|miss}, cache.evictions, cache.size
+        CaffeineCacheMetrics.monitor(registry, pages, "user-list");
+    }
+
+    public UserPageDTO get(Long adminId, Long afterId, int size, Supplier<UserPageDTO> loader) {
+
+        // Read the version before loading, so a page loaded across a write
+        // is stored under the old version and never served after it
+        PageKey key = new PageKey(adminId, version(adminId), afterId, size);
+
+        return pages.get(key, k -> loader.get());
+    }
+
+    public long version(Long adminId) {
+        AtomicLong version = versions.get(adminId);
+        return version == null ? 0 : version.get();
+    }
+
+    // Opaque tag that changes whenever the admin's users change (or the app restarts)
+    public String versionTag(Long adminId) {
+        return epoch + "." + Long.toString(version(adminId), 36);
+    }
+
+    // Call after the admin's users changed
+    public void invalidate(Long adminId) {
+        versions.computeIfAbsent(adminId, id -> new AtomicLong()).incrementAndGet();
+    }
+
+    public CacheStats stats() {
+        return pages.stats();
+    }
+}
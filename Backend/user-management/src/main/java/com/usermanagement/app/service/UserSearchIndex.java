@@ -0,0 +1,345 @@
+package com.usermanagement.app.service;
+
+import com.usermanagement.app.dto.ManagedUserDTO;
+import com.usermanagement.app.entity.ManagedUser;
+import com.usermanagement.app.repository.ManagedUserRepository;
+
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.stream.Stream;
+
+// In-memory substring index over managed user names and emails, one per admin.
+// Word-prefix matches come first, from a sorted term map; any other user whose
+// name or email contains the query follows, found through n-gram postings.
+// A query of up to GRAM characters is a posting key itself, so its posting is
+// the exact answer; a longer one intersects the postings of its trigrams and
+// checks the survivors against the text. Postings are sorted by id and only
+// walked, never copied, so a search touches about `limit` ids plus the skips
+// of the intersection, however many users share a common gram. Memory is
+// linear in the text length: at most three postings per character.
+@Component
+public class UserSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(UserSearchIndex.class);
+
+    // Separates a term from the user id in index keys; sorts before any real character
+    private static final char SEPARATOR = '\u0000';
+
+    // Longest n-grams in the substring postings (shorter ones are indexed too)
+    static final int GRAM = 3;
+
+    // Users read per query when an admin's index is reloaded
+    private static final int RELOAD_PAGE_SIZE = 1000;
+
+    private final ManagedUserRepository repo;
+    private final EntityManager entityManager;
+
+    private final Map<Long, AdminIndex> admins = new ConcurrentHashMap<>();
+
+    // Admins whose users another node changed; reloaded on their next search,
+    // so a burst of remote writes costs one reload instead of one per write
+    private final Set<Long> stale = ConcurrentHashMap.newKeySet();
+
+    public UserSearchIndex(ManagedUserRepository repo, EntityManager entityManager) {
+        this.repo = repo;
+        this.entityManager = entityManager;
+    }
+
+    // Load every existing user once the application is up
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+
+        admins.clear();
+        long count = 0;
+
+        try (Stream<ManagedUser> rows = repo.streamAll()) {
+            Iterator<ManagedUser> it = rows.iterator();
+
+            while (it.hasNext()) {
+                ManagedUser user = it.next();
+                add(user);
+                entityManager.detach(user);
+                count++;
+            }
+        }
+
+        log.info("User search index built with {} users", count);
+    }
+
+    public void add(ManagedUser user) {
+        admins.computeIfAbsent(user.getAdminId(), id -> new AdminIndex())
+                .add(ManagedUserDTO.of(user));
+    }
+
+    public void remove(Long adminId, Long userId) {
+        AdminIndex index = admins.get(adminId);
+        if (index != null) {
+            index.remove(userId);
+        }
+    }
+
+    public void invalidate(Long adminId) {
+        stale.add(adminId);
+    }
+
+    // Users of the admin whose name or email contains the query, those with a
+    // word starting with it first
+    public List<ManagedUserDTO> search(Long adminId, String query, int limit) {
+
+        if (stale.remove(adminId)) {
+            reload(adminId);
+        }
+
+        AdminIndex index = admins.get(adminId);
+        if (index == null || query == null) {
+            return List.of();
+        }
+
+        String normalized = query.trim().toLowerCase(Locale.ROOT);
+        if (normalized.isEmpty()) {
+            return List.of();
+        }
+
+        return index.search(normalized, limit);
+    }
+
+    // Read back through the keyset DTO pages: no entities, no persistence context
+    private void reload(Long adminId) {
+
+        AdminIndex index = new AdminIndex();
+        long afterId = 0;
+
+        while (true) {
+            List<ManagedUserDTO> page = repo.findPageByAdminId(adminId, afterId, Limit.of(RELOAD_PAGE_SIZE));
+            page.forEach(index::add);
+
+            if (page.size() < RELOAD_PAGE_SIZE) {
+                break;
+            }
+            afterId = page.get(page.size() - 1).getId();
+        }
+
+        admins.put(adminId, index);
+    }
+
+    // Searchable terms: full name, each name word, full email and its domain
+    private static Set<String> terms(ManagedUserDTO user) {
+
+        Set<String> terms = new LinkedHashSet<>();
+
+        if (user.getName() != null) {
+            String name = user.getName().trim().toLowerCase(Locale.ROOT);
+            terms.add(name);
+            for (String word : name.split("\\s+")) {
+                if (!word.isEmpty()) {
+                    terms.add(word);
+                }
+            }
+        }
+
+        String email = user.getEmail();
+        terms.add(email);
+
+        int at = email.indexOf('@');
+        if (at >= 0 && at + 1 < email.length()) {
+            terms.add(email.substring(at + 1));
+        }
+
+        return terms;
+    }
+
+    // Distinct n-grams of the lowercase name and email up to GRAM characters
+    // long, never spanning the two
+    static Set<String> grams(String... texts) {
+
+        Set<String> grams = new LinkedHashSet<>();
+
+        for (String text : texts) {
+            for (int i = 0; i < text.length(); i++) {
+                for (int n = 1; n <= GRAM && i + n <= text.length(); n++) {
+                    grams.add(text.substring(i, i + n));
+                }
+            }
+        }
+
+        return grams;
+    }
+
+    // Distinct trigrams of a query longer than GRAM
+    private static Set<String> trigrams(String query) {
+
+        Set<String> grams = new LinkedHashSet<>();
+        for (int i = 0; i + GRAM <= query.length(); i++) {
+            grams.add(query.substring(i, i + GRAM));
+        }
+        return grams;
+    }
+
+    // A user with the lowercase text the substring check runs against
+    private record Entry(ManagedUserDTO user, String name, String email) {
+
+        static Entry of(ManagedUserDTO user) {
+            String name = user.getName() == null ? "" : user.getName().trim().toLowerCase(Locale.ROOT);
+            return new Entry(user, name, user.getEmail());
+        }
+
+        boolean contains(String query) {
+            return name.contains(query) || email.contains(query);
+        }
+    }
+
+    private static final class AdminIndex {
+
+        // Id -> user, for the result rows and the substring check
+        private final Map<Long, Entry> users = new ConcurrentHashMap<>();
+
+        // "term\0id" -> id, sorted so a prefix is a contiguous key range
+        private final ConcurrentNavigableMap<String, Long> terms = new ConcurrentSkipListMap<>();
+
+        // 1- to 3-gram -> ids of users whose name or email contains it, in id order
+        private final Map<String, NavigableSet<Long>> grams = new ConcurrentHashMap<>();
+
+        synchronized void add(ManagedUserDTO user) {
+
+            Entry entry = Entry.of(user);
+            Entry previous = users.put(user.getId(), entry);
+            if (previous != null) {
+                unindex(previous);
+            }
+
+            for (String term : terms(user)) {
+                terms.put(term + SEPARATOR + user.getId(), user.getId());
+            }
+
+            for (String gram : grams(entry.name(), entry.email())) {
+                grams.computeIfAbsent(gram, g -> new ConcurrentSkipListSet<>()).add(user.getId());
+            }
+        }
+
+        synchronized void remove(Long userId) {
+            Entry entry = users.remove(userId);
+            if (entry != null) {
+                unindex(entry);
+            }
+        }
+
+        // Lock-free reads: word-prefix range first, then other substring matches
+        List<ManagedUserDTO> search(String query, int limit) {
+
+            Set<Long> ids = new LinkedHashSet<>();
+
+            for (Long id : terms.subMap(query, true, query + Character.MAX_VALUE, false).values()) {
+                if (ids.add(id) && ids.size() == limit) {
+                    break;
+                }
+            }
+
+            if (ids.size() < limit) {
+                addContaining(query, ids, limit);
+            }
+
+            List<ManagedUserDTO> result = new ArrayList<>(ids.size());
+            for (Long id : ids) {
+                Entry entry = users.get(id);
+                if (entry != null) {
+                    result.add(entry.user());
+                }
+            }
+            return result;
+        }
+
+        // Users containing the query, in id order
+        private void addContaining(String query, Set<Long> ids, int limit) {
+
+            if (query.length() <= GRAM) {
+                // Grams never span name and email: every id here contains the query
+                NavigableSet<Long> posting = grams.get(query);
+                if (posting != null) {
+                    for (Long id : posting) {
+                        if (ids.add(id) && ids.size() == limit) {
+                            return;
+                        }
+                    }
+                }
+                return;
+            }
+
+            List<NavigableSet<Long>> postings = new ArrayList<>();
+            for (String gram : trigrams(query)) {
+                NavigableSet<Long> posting = grams.get(gram);
+                if (posting == null) {
+                    return;
+                }
+                postings.add(posting);
+            }
+
+            // The first gram's posting leads; the others are probed with
+            // ceiling(), and a miss jumps the lead past the gap, so runs of ids
+            // missing a gram are skipped rather than visited. (Not ranked by
+            // size: size() of a skip list set walks it.)
+            NavigableSet<Long> lead = postings.get(0);
+            Long candidate = lead.isEmpty() ? null : lead.first();
+
+            while (candidate != null) {
+                Long next = candidate;
+                for (int i = 1; i < postings.size() && next.equals(candidate); i++) {
+                    next = postings.get(i).ceiling(candidate);
+                    if (next == null) {
+                        return;
+                    }
+                }
+
+                if (!next.equals(candidate)) {
+                    candidate = lead.ceiling(next);
+                    continue;
+                }
+
+                // In every posting, but the grams may not be adjacent in the text
+                Entry entry = users.get(candidate);
+                if (entry != null && entry.contains(query) && ids.add(candidate) && ids.size() == limit) {
+                    return;
+                }
+                candidate = lead.higher(candidate);
+            }
+        }
+
+        private void unindex(Entry entry) {
+
+            Long id = entry.user().getId();
+
+            for (String term : terms(entry.user())) {
+                terms.remove(term + SEPARATOR + id);
+            }
+
+            for (String gram : grams(entry.name(), entry.email())) {
+                NavigableSet<Long> posting = grams.get(gram);
+                if (posting != null) {
+                    posting.remove(id);
+                    if (posting.isEmpty()) {
+                        grams.remove(gram);
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.usermanagement.app.util;
+
+import org.hibernate.exception.ConstraintViolationException;
+
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.util.Locale;
+
+// Tells which constraint a failed write hit. Works on Spring's translated
+// DataIntegrityViolationException, on the raw Hibernate exception a manual
+// flush throws and on the driver's exception under a JDBC write; other integrity errors (overlong values, nulls)
+// never match, so callers can rethrow them.
+public final class ConstraintViolations {
+
+    private ConstraintViolations() {
+    }
+
+    public static boolean isViolationOf(Throwable ex, String constraint) {
+
+        String expected = constraint.toLowerCase(Locale.ROOT);
+
+        for (Throwable t = ex; t != null; t = t.getCause()) {
+            // Databases differ in how they quote and qualify the name
+            if (t instanceof ConstraintViolationException violation
+                    && violation.getConstraintName() != null
+                    && violation.getConstraintName().toLowerCase(Locale.ROOT).contains(expected)) {
+                return true;
+            }
+
+            // Plain JDBC writes carry only the driver's exception, which names
+            // the violated unique constraint (or its index) in the message
+            if (t instanceof SQLIntegrityConstraintViolationException violation
+                    && violation.getMessage() != null
+                    && violation.getMessage().toLowerCase(Locale.ROOT).contains(expected)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+}
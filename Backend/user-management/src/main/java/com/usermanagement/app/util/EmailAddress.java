@@ -0,0 +1,33 @@
+package com.usermanagement.app.util;
+
+import com.usermanagement.app.exception.ValidationException;
+
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+// Canonical (trimmed, lowercase) email; the only form stored or queried
+public record EmailAddress(String value) {
+
+    // local@domain.tld without spaces; whether it is deliverable is up to the mail server
+    private static final Pattern WELL_FORMED = Pattern.compile("[^@\\s]+@[^@\\s]+\\.[^@\\s.]+");
+
+    public EmailAddress {
+        if (value == null || value.trim().isEmpty()) {
+            throw new ValidationException("EMAIL_REQUIRED", "Email is required");
+        }
+        value = value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    public static EmailAddress of(String raw) {
+        return new EmailAddress(raw);
+    }
+
+    public boolean isWellFormed() {
+        return WELL_FORMED.matcher(value).matches();
+    }
+
+    @Override
+    public String toString() {
+        return value;
+    }
+}
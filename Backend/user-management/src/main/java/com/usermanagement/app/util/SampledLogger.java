@@ -0,0 +1,46 @@
+package com.usermanagement.app.util;
+
+import org.slf4j.Logger;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// Logs at most one line per interval for events that can fire on every
+// request (rejected tokens, throttled logins), and reports how many were
+// skipped in between instead of flooding the log
+public class SampledLogger {
+
+    private final Logger log;
+    private final long intervalNanos;
+
+    private final AtomicLong nextAllowed = new AtomicLong();
+    private final AtomicLong suppressed = new AtomicLong();
+
+    public SampledLogger(Logger log, long intervalMillis) {
+        this.log = log;
+        this.intervalNanos = intervalMillis * 1_000_000;
+        this.nextAllowed.set(System.nanoTime());
+    }
+
+    public void warn(String format, Object... args) {
+
+        if (!log.isWarnEnabled()) {
+            return;
+        }
+
+        long now = System.nanoTime();
+        long allowed = nextAllowed.get();
+
+        // Lost the race or still inside the interval: just count it
+        if (now - allowed < 0 || !nextAllowed.compareAndSet(allowed, now + intervalNanos)) {
+            suppressed.incrementAndGet();
+            return;
+        }
+
+        long skipped = suppressed.getAndSet(0);
+        if (skipped > 0) {
+            log.warn(format + " (" + skipped + " similar suppressed)", args);
+        } else {
+            log.warn(format, args);
+        }
+    }
+}
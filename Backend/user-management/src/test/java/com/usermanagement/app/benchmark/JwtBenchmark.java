@@ -0,0 +1,79 @@
+package com.usermanagement.app.benchmark;
+
+import com.usermanagement.app.config.JwtUtil;
+import com.usermanagement.app.entity.LoginUser;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtBenchmark {
+
+    // Larger than the verified-token cache, so cycling through them always misses
+    private static final int DISTINCT_TOKENS = 50_000;
+
+    private JwtUtil jwtUtil;
+    private LoginUser user;
+    private UserDetails userDetails;
+    private String token;
+    private String[] distinctTokens;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = new JwtUtil(new SimpleMeterRegistry());
+
+        user = new LoginUser();
+        user.setId(1L);
+        user.setEmail("admin@example.com");
+        user.setName("Admin");
+
+        userDetails = User.withUsername(user.getEmail()).password("x").roles("ADMIN").build();
+        token = jwtUtil.generateToken(user);
+
+        distinctTokens = new String[DISTINCT_TOKENS];
+        for (int i = 0; i < DISTINCT_TOKENS; i++) {
+            LoginUser other = new LoginUser();
+            other.setId((long) i);
+            other.setEmail("user" + i + "@example.com");
+            distinctTokens[i] = jwtUtil.generateToken(other);
+        }
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken(user);
+    }
+
+    // Same token every time, as on consecutive requests of one client
+    @Benchmark
+    public Claims verifyCached() {
+        return jwtUtil.verify(token);
+    }
+
+    // Full parse, HMAC check and cache insert
+    @Benchmark
+    public Claims verifyUncached() {
+        next = (next + 1) % DISTINCT_TOKENS;
+        return jwtUtil.verify(distinctTokens[next]);
+    }
+
+    @Benchmark
+    public String extractEmail() {
+        return jwtUtil.extractEmail(token);
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return jwtUtil.validateToken(token, userDetails);
+    }
+}
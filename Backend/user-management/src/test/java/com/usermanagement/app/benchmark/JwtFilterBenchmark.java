@@ -0,0 +1,78 @@
+package com.usermanagement.app.benchmark;
+
+import com.usermanagement.app.config.JwtFilter;
+import com.usermanagement.app.config.JwtUtil;
+import com.usermanagement.app.entity.LoginUser;
+import com.usermanagement.app.repository.LoginUserRepository;
+import com.usermanagement.app.repository.RevokedTokenRepository;
+import com.usermanagement.app.service.InvalidationBus;
+import com.usermanagement.app.service.TokenRevocationService;
+import com.usermanagement.app.service.TokenVersionService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// Whole per-request authentication path: header parse, verify, principal,
+// version check, revocation check against a filter holding other revoked tokens
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtFilterBenchmark {
+
+    private JwtFilter filter;
+    private String header;
+
+    @Param({"0", "5000"})
+    public int revokedTokens;
+
+    @Setup
+    public void setUp() {
+        LoginUserRepository repo = Mockito.mock(LoginUserRepository.class);
+        Mockito.when(repo.findTokenVersionById(Mockito.anyLong())).thenReturn(Optional.of(0));
+
+        TokenRevocationService revocations = new TokenRevocationService(
+                Mockito.mock(RevokedTokenRepository.class), Mockito.mock(InvalidationBus.class),
+                new SimpleMeterRegistry(), 10_000, 0.01);
+
+        // Same expiry hour as the benchmarked token, so they share its bucket
+        Instant expiry = Instant.now().plus(1, ChronoUnit.DAYS);
+        for (int i = 0; i < revokedTokens; i++) {
+            revocations.revoke(UUID.randomUUID().toString(), expiry);
+        }
+
+        JwtUtil jwtUtil = new JwtUtil(new SimpleMeterRegistry());
+        TokenVersionService versions = new TokenVersionService(repo, Mockito.mock(InvalidationBus.class));
+        filter = new JwtFilter(jwtUtil, versions, revocations, new SimpleMeterRegistry());
+
+        LoginUser user = new LoginUser();
+        user.setId(1L);
+        user.setEmail("admin@example.com");
+        header = "Bearer " + jwtUtil.generateToken(user);
+    }
+
+    @Benchmark
+    public Object doFilterInternal() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/auth/users/list");
+        request.addHeader("Authorization", header);
+
+        try {
+            filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.usermanagement.app.benchmark;
+
+import com.usermanagement.app.UserManagementApplication;
+import com.usermanagement.app.repository.ManagedUserRepository;
+import com.usermanagement.app.util.EmailAddress;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Repository queries against H2 with `rows` managed users spread over ADMINS admins.
+// Runs the whole Spring/Hibernate stack, so it needs a longer warmup than the others.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ManagedUserRepositoryBenchmark {
+
+    private static final int ADMINS = 10;
+
+    @Param({"1000", "10000", "100000"})
+    public int rows;
+
+    private ConfigurableApplicationContext context;
+    private ManagedUserRepository repo;
+    private int perAdmin;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(UserManagementApplication.class)
+                .run(
+                        "--server.port=0",
+                        "--spring.datasource.url=jdbc:h2:mem:bench" + rows + ";DB_CLOSE_ON_EXIT=FALSE",
+                        "--spring.jpa.show-sql=false",
+                        "--spring.main.banner-mode=off",
+                        "--logging.level.root=WARN");
+
+        repo = context.getBean(ManagedUserRepository.class);
+        perAdmin = rows / ADMINS;
+
+        seed(context.getBean(JdbcTemplate.class));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    // Ids are assigned so that admin a owns ids a*perAdmin+1 .. (a+1)*perAdmin
+    private void seed(JdbcTemplate jdbc) {
+        List<Object[]> batch = new ArrayList<>(1000);
+
+        for (int i = 0; i < rows; i++) {
+            long adminId = i / perAdmin + 1;
+            batch.add(new Object[]{(long) i + 1, "User " + i, "user" + i + "@example.com", adminId});
+
+            if (batch.size() == 1000) {
+                insert(jdbc, batch);
+            }
+        }
+        insert(jdbc, batch);
+    }
+
+    private static void insert(JdbcTemplate jdbc, List<Object[]> batch) {
+        if (!batch.isEmpty()) {
+            jdbc.batchUpdate("insert into managed_users (id, name, email, admin_id) values (?, ?, ?, ?)", batch);
+            batch.clear();
+        }
+    }
+
+    private long randomAdmin() {
+        return ThreadLocalRandom.current().nextInt(ADMINS) + 1;
+    }
+
+    @Benchmark
+    public Object firstPage() {
+        return repo.findPageByAdminId(randomAdmin(), 0L, Limit.of(51));
+    }
+
+    // Keyset page near the end of an admin's users; should cost the same as the first
+    @Benchmark
+    public Object deepPage() {
+        long adminId = randomAdmin();
+        long afterId = adminId * perAdmin - 60;
+        return repo.findPageByAdminId(adminId, afterId, Limit.of(51));
+    }
+
+    @Benchmark
+    public boolean existsByEmailAndAdminId() {
+        int i = ThreadLocalRandom.current().nextInt(rows);
+        return repo.existsByEmailAndAdminId(
+                EmailAddress.of("user" + i + "@example.com"), (long) (i / perAdmin + 1));
+    }
+
+    // Unpaged load of every user of one admin, as managed entities
+    @Benchmark
+    public Object findByAdminId() {
+        return repo.findByAdminId(randomAdmin());
+    }
+
+    // The same rows through the read-only projection path, for comparison
+    @Benchmark
+    public Object findAllProjected() {
+        return repo.findPageByAdminId(randomAdmin(), 0L, Limit.unlimited());
+    }
+}
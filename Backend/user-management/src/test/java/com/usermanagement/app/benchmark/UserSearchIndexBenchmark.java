@@ -0,0 +1,66 @@
+package com.usermanagement.app.benchmark;
+
+import com.usermanagement.app.entity.ManagedUser;
+import com.usermanagement.app.service.UserSearchIndex;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// Typeahead over one admin with `users` users whose names and emails share
+// a few common words and domains, so grams like "a", "co" or "com" are in
+// almost every posting. Each query is a separate run; the target is well
+// under a millisecond each at 100k users.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UserSearchIndexBenchmark {
+
+    private static final long ADMIN = 1L;
+    private static final int LIMIT = 10;
+
+    private static final String[] FIRST = {"james", "mary", "john", "patricia", "robert", "jennifer",
+            "michael", "linda", "david", "elizabeth", "william", "barbara", "richard", "susan"};
+    private static final String[] LAST = {"smith", "johnson", "williams", "brown", "jones", "garcia",
+            "miller", "davis", "rodriguez", "martinez", "hernandez", "lopez", "wilson", "anderson"};
+    private static final String[] DOMAINS = {"gmail.com", "example.com", "corp.io", "mail.co.uk"};
+
+    @Param({"100000"})
+    public int users;
+
+    // One letter, two letters with no match, common gram, common domain,
+    // long query with common grams but no match, one specific user
+    @Param({"a", "qz", "com", "gmail.com", "smithjones", "davis4242"})
+    public String query;
+
+    private UserSearchIndex index;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // Only search() and add() are used, which never touch the database
+        index = new UserSearchIndex(null, null);
+
+        for (int i = 0; i < users; i++) {
+            String first = FIRST[i % FIRST.length];
+            String last = LAST[(i / FIRST.length) % LAST.length];
+
+            ManagedUser user = new ManagedUser();
+            user.setId((long) i + 1);
+            user.setAdminId(ADMIN);
+            user.setName(capitalize(first) + " " + capitalize(last));
+            user.setEmail(first + "." + last + i + "@" + DOMAINS[i % DOMAINS.length]);
+            index.add(user);
+        }
+    }
+
+    private static String capitalize(String word) {
+        return Character.toUpperCase(word.charAt(0)) + word.substring(1);
+    }
+
+    @Benchmark
+    public Object search() {
+        return index.search(ADMIN, query, LIMIT);
+    }
+}
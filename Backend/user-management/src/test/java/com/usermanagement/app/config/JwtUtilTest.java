@@ -0,0 +1,67 @@
+package com.usermanagement.app.config;
+
+import com.usermanagement.app.entity.LoginUser;
+import com.usermanagement.app.util.MutableClock;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JwtUtilTest {
+
+    private MutableClock clock;
+    private SimpleMeterRegistry registry;
+    private JwtUtil jwtUtil;
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2026-01-01T00:00:00Z"));
+        registry = new SimpleMeterRegistry();
+        jwtUtil = new JwtUtil(registry, clock);
+
+        LoginUser user = new LoginUser();
+        user.setId(1L);
+        user.setEmail("admin@example.com");
+        token = jwtUtil.generateToken(user);
+    }
+
+    @Test
+    void repeatedVerificationIsServedFromTheCache() {
+        assertThat(jwtUtil.verify(token)).isNotNull();
+        assertThat(jwtUtil.verify(token).getSubject()).isEqualTo("admin@example.com");
+
+        assertThat(count("miss")).isEqualTo(1);
+        assertThat(count("hit")).isEqualTo(1);
+    }
+
+    @Test
+    void cachedTokenPastItsExpiryIsRejected() {
+        assertThat(jwtUtil.verify(token)).isNotNull();
+
+        // Still accepted within the clock skew allowance
+        clock.advance(Duration.ofHours(24).plusSeconds(30));
+        assertThat(jwtUtil.verify(token)).isNotNull();
+
+        clock.advance(Duration.ofSeconds(31));
+        assertThat(jwtUtil.verify(token)).isNull();
+        assertThat(count("invalid")).isEqualTo(1);
+    }
+
+    @Test
+    void tamperedTokenIsRejected() {
+        String tampered = token.substring(0, token.length() - 2)
+                + (token.endsWith("A") ? "BB" : "AA");
+
+        assertThat(jwtUtil.verify(tampered)).isNull();
+        assertThat(count("invalid")).isEqualTo(1);
+    }
+
+    private double count(String result) {
+        return registry.counter("jwt.verify", "result", result).count();
+    }
+}
@@ -0,0 +1,180 @@
+package com.usermanagement.app.controller;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.usermanagement.app.config.JwtUtil;
+import com.usermanagement.app.entity.LoginUser;
+import com.usermanagement.app.entity.ManagedUser;
+import com.usermanagement.app.repository.ManagedUserRepository;
+import com.usermanagement.app.service.AuthUserService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+// Many clients adding the same user at once: one row, no 500s
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:add-user-concurrency",
+        "audit.journal.dir=target/audit/add-user-concurrency"
+})
+@AutoConfigureMockMvc
+class AddUserConcurrencyTest {
+
+    private static final int CLIENTS = 16;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AuthUserService authService;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private ManagedUserRepository repo;
+
+    private LoginUser admin;
+    private String token;
+
+    // Everything logged while a test runs
+    private final ListAppender<ILoggingEvent> log = new ListAppender<>();
+
+    @BeforeEach
+    void setUp() {
+        admin = authService.register("Admin", UUID.randomUUID() + "@example.com", "secret123");
+        token = "Bearer " + jwtUtil.generateToken(admin);
+
+        log.start();
+        rootLogger().addAppender(log);
+    }
+
+    @AfterEach
+    void tearDown() {
+        rootLogger().detachAppender(log);
+    }
+
+    @Test
+    void concurrentAddsOfTheSameEmailInsertOnce() throws Exception {
+        List<MockHttpServletResponse> responses = addConcurrently("same@example.com", i -> null);
+
+        assertThat(statuses(responses)).containsOnly(200, 409);
+        assertThat(statuses(responses)).filteredOn(s -> s == 200).hasSize(1);
+        assertThat(repo.findByAdminId(admin.getId())).hasSize(1);
+
+        // A duplicate is a routine 409, not something to page anyone about
+        assertThat(log.list).noneMatch(e -> e.getLevel().isGreaterOrEqual(Level.ERROR));
+        assertThat(log.list).noneMatch(e -> e.getLoggerName().startsWith("org.hibernate")
+                && e.getLevel().isGreaterOrEqual(Level.WARN));
+    }
+
+    @Test
+    void retriesWithTheSameKeyReplayTheFirstResponse() throws Exception {
+        String key = UUID.randomUUID().toString();
+
+        List<MockHttpServletResponse> responses = addConcurrently("retry@example.com", i -> key);
+
+        assertThat(statuses(responses)).containsOnly(200);
+        assertThat(responses).extracting(r -> r.getContentAsString()).containsOnly(
+                responses.get(0).getContentAsString());
+        assertThat(responses).filteredOn(r -> "false".equals(r.getHeader("Idempotent-Replayed")))
+                .hasSize(1);
+        assertThat(repo.findByAdminId(admin.getId())).hasSize(1);
+    }
+
+    @Test
+    void reusingAKeyForAnotherUserIsRejected() throws Exception {
+        String key = UUID.randomUUID().toString();
+
+        assertThat(add("first@example.com", key).getStatus()).isEqualTo(200);
+        assertThat(add("second@example.com", key).getStatus()).isEqualTo(400);
+        assertThat(repo.findByAdminId(admin.getId())).hasSize(1);
+    }
+
+    @Test
+    void overlongNameIsRejectedAsInvalidNotAsConflict() throws Exception {
+        String name = "n".repeat(ManagedUser.NAME_LENGTH + 1);
+
+        MockHttpServletResponse response = add(name, "long@example.com", null);
+
+        assertThat(response.getStatus()).isEqualTo(400);
+        assertThat(response.getContentAsString()).contains("NAME_TOO_LONG");
+        assertThat(repo.findByAdminId(admin.getId())).isEmpty();
+    }
+
+    private interface KeyFor {
+        String of(int client);
+    }
+
+    private List<MockHttpServletResponse> addConcurrently(String email, KeyFor keys) throws Exception {
+
+        ExecutorService pool = Executors.newFixedThreadPool(CLIENTS);
+        CountDownLatch start = new CountDownLatch(1);
+
+        try {
+            List<Future<MockHttpServletResponse>> futures = new ArrayList<>();
+            for (int i = 0; i < CLIENTS; i++) {
+                String key = keys.of(i);
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    return add(email, key);
+                }));
+            }
+
+            start.countDown();
+
+            List<MockHttpServletResponse> responses = new ArrayList<>();
+            for (Future<MockHttpServletResponse> future : futures) {
+                responses.add(future.get());
+            }
+            return responses;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private MockHttpServletResponse add(String email, String key) throws Exception {
+        return add("Same User", email, key);
+    }
+
+    private MockHttpServletResponse add(String name, String email, String key) throws Exception {
+
+        var request = post("/api/auth/users/add")
+                .header("Authorization", token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"" + name + "\",\"email\":\"" + email + "\"}");
+
+        if (key != null) {
+            request.header("Idempotency-Key", key);
+        }
+
+        return mockMvc.perform(request).andReturn().getResponse();
+    }
+
+    private static Logger rootLogger() {
+        return (Logger) LoggerFactory.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME);
+    }
+
+    private static List<Integer> statuses(List<MockHttpServletResponse> responses) {
+        return responses.stream().map(MockHttpServletResponse::getStatus).toList();
+    }
+}
@@ -0,0 +1,60 @@
+package com.usermanagement.app.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Through real Tomcat: the per-IP buckets key on the forwarded client address
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "spring.datasource.url=jdbc:h2:mem:client-address-throttle",
+                "audit.journal.dir=target/audit/client-address-throttle",
+                "throttle.login.per-ip=2"
+        }
+)
+class ClientAddressThrottleTest {
+
+    @LocalServerPort
+    private int port;
+
+    private final HttpClient http = HttpClient.newHttpClient();
+
+    @Test
+    void clientsBehindTheProxyGetBucketsOfTheirOwn() throws Exception {
+        // The test connects from loopback, which is a trusted proxy
+        assertThat(login("203.0.113.1")).isNotEqualTo(429);
+        assertThat(login("203.0.113.1")).isNotEqualTo(429);
+        assertThat(login("203.0.113.1")).isEqualTo(429);
+
+        assertThat(login("203.0.113.2")).isNotEqualTo(429);
+    }
+
+    @Test
+    void forwardedAddressOfAnUntrustedPeerIsIgnored() throws Exception {
+        // A client can append its own X-Forwarded-For entries; only the entry
+        // added by the last trusted proxy counts
+        String spoofed = "198.51.100.7, 203.0.113.9";
+        assertThat(login(spoofed)).isNotEqualTo(429);
+        assertThat(login("198.51.100.8, 203.0.113.9")).isNotEqualTo(429);
+        assertThat(login("198.51.100.9, 203.0.113.9")).isEqualTo(429);
+    }
+
+    private int login(String forwardedFor) throws Exception {
+        String body = "{\"email\":\"" + UUID.randomUUID() + "@example.com\",\"password\":\"wrong-password\"}";
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/auth/login"))
+                .header("Content-Type", "application/json")
+                .header("X-Forwarded-For", forwardedFor)
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        return http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+}
@@ -0,0 +1,131 @@
+package com.usermanagement.app.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.usermanagement.app.config.JwtUtil;
+import com.usermanagement.app.entity.LoginUser;
+import com.usermanagement.app.entity.ManagedUser;
+import com.usermanagement.app.repository.ManagedUserRepository;
+import com.usermanagement.app.service.AuthUserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+// The reactive endpoints read through R2DBC what JPA wrote to the same database
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:reactive-users",
+        "reactive.r2dbc.url=r2dbc:h2:mem:///reactive-users",
+        "audit.journal.dir=target/audit/reactive-users"
+})
+@AutoConfigureMockMvc
+class ReactiveUserControllerTest {
+
+    private static final String BASE = "/api/auth/reactive/users";
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AuthUserService authService;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private ManagedUserRepository repo;
+
+    private LoginUser admin;
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        admin = authService.register("Admin", UUID.randomUUID() + "@example.com", "secret123");
+        token = "Bearer " + jwtUtil.generateToken(admin);
+    }
+
+    @Test
+    void streamReturnsEveryUserAcrossKeysetPages() throws Exception {
+        // Three queries: two full pages and a partial one
+        List<Long> ids = insert(admin.getId(), 450);
+        insert(admin.getId() + 1000, 3);
+
+        MvcResult result = async(get(BASE).accept(MediaType.APPLICATION_NDJSON));
+
+        assertThat(result.getResponse().getStatus()).isEqualTo(200);
+        List<Long> streamed = new ArrayList<>();
+        for (String line : result.getResponse().getContentAsString().split("\n")) {
+            streamed.add(json(line).get("id").asLong());
+        }
+        assertThat(streamed).isEqualTo(ids);
+    }
+
+    @Test
+    void pagesFollowTheirCursors() throws Exception {
+        List<Long> ids = insert(admin.getId(), 5);
+
+        JsonNode first = json(async(get(BASE + "/page").param("limit", "3")).getResponse().getContentAsString());
+        assertThat(first.get("items").findValuesAsText("id")).containsExactly(
+                ids.get(0).toString(), ids.get(1).toString(), ids.get(2).toString());
+
+        JsonNode second = json(async(get(BASE + "/page").param("limit", "3")
+                .param("cursor", first.get("nextCursor").asText())).getResponse().getContentAsString());
+        assertThat(second.get("items").findValuesAsText("id")).containsExactly(
+                ids.get(3).toString(), ids.get(4).toString());
+        assertThat(second.get("nextCursor").isNull()).isTrue();
+    }
+
+    @Test
+    void usersOfAnotherAdminAreNotFound() throws Exception {
+        Long own = insert(admin.getId(), 1).get(0);
+        Long foreign = insert(admin.getId() + 1000, 1).get(0);
+
+        MvcResult found = async(get(BASE + "/" + own));
+        assertThat(found.getResponse().getStatus()).isEqualTo(200);
+        assertThat(json(found.getResponse().getContentAsString()).get("id").asLong()).isEqualTo(own);
+
+        MvcResult missing = async(get(BASE + "/" + foreign));
+        assertThat(missing.getResponse().getStatus()).isEqualTo(404);
+        assertThat(json(missing.getResponse().getContentAsString()).get("code").asText())
+                .isEqualTo("USER_NOT_FOUND");
+    }
+
+    // The request returns at once and completes on an async dispatch
+    private MvcResult async(MockHttpServletRequestBuilder builder) throws Exception {
+        MvcResult started = mockMvc.perform(builder.header("Authorization", token))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(started)).andReturn();
+    }
+
+    private List<Long> insert(long adminId, int count) {
+        List<ManagedUser> users = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ManagedUser user = new ManagedUser();
+            user.setName("User " + i);
+            user.setEmail(UUID.randomUUID() + "@example.com");
+            user.setAdminId(adminId);
+            users.add(user);
+        }
+        return repo.saveAll(users).stream().map(ManagedUser::getId).toList();
+    }
+
+    private static JsonNode json(String body) throws Exception {
+        return JSON.readTree(body);
+    }
+}
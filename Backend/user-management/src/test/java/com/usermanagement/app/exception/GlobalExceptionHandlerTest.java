@@ -0,0 +1,144 @@
+package com.usermanagement.app.exception;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Map;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+// Status, code and body shape for every kind of failure a controller can raise
+class GlobalExceptionHandlerTest {
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(new FailingController())
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+    }
+
+    @Test
+    void validationIs400() throws Exception {
+        expect("validation", 400, "INVALID_CURSOR");
+    }
+
+    @Test
+    void unauthorizedIs401() throws Exception {
+        expect("unauthorized", 401, "INVALID_CREDENTIALS");
+    }
+
+    @Test
+    void notFoundIs404() throws Exception {
+        expect("not-found", 404, "USER_NOT_FOUND");
+    }
+
+    @Test
+    void conflictIs409() throws Exception {
+        expect("conflict", 409, "USER_EMAIL_EXISTS");
+    }
+
+    @Test
+    void tooManyRequestsIs429WithRetryAfter() throws Exception {
+        expect("too-many", 429, "TOO_MANY_ATTEMPTS")
+                .andExpect(header().string("Retry-After", "30"));
+    }
+
+    @Test
+    void unexpectedFailureIs500WithoutItsMessage() throws Exception {
+        expect("unexpected", 500, "INTERNAL_ERROR")
+                .andExpect(jsonPath("$.message").value("Internal server error"));
+    }
+
+    @Test
+    void malformedRequestsStay400() throws Exception {
+        mockMvc.perform(post("/fail/body").contentType(MediaType.APPLICATION_JSON).content("{not json"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value("BAD_REQUEST"));
+
+        mockMvc.perform(get("/fail/number/abc"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value("BAD_REQUEST"));
+    }
+
+    @Test
+    void accessDeniedIs403() throws Exception {
+        expect("denied", 403, "FORBIDDEN");
+    }
+
+    @Test
+    void springStatusExceptionsKeepTheirStatus() throws Exception {
+        expect("gone", 410, "REQUEST_REJECTED");
+    }
+
+    private ResultActions expect(String path, int status, String code) throws Exception {
+        return mockMvc.perform(get("/fail/" + path))
+                .andExpect(status().is(status))
+                .andExpect(jsonPath("$.status").value(status))
+                .andExpect(jsonPath("$.code").value(code));
+    }
+
+    @RestController
+    @RequestMapping("/fail")
+    static class FailingController {
+
+        @GetMapping("/validation")
+        void validation() {
+            throw new ValidationException("INVALID_CURSOR", "Invalid cursor");
+        }
+
+        @GetMapping("/unauthorized")
+        void unauthorized() {
+            throw new UnauthorizedException("INVALID_CREDENTIALS", "Invalid email or password");
+        }
+
+        @GetMapping("/not-found")
+        void notFound() {
+            throw new NotFoundException("USER_NOT_FOUND", "User not found");
+        }
+
+        @GetMapping("/conflict")
+        void conflict() {
+            throw new ConflictException("USER_EMAIL_EXISTS", "User email already exists for this admin");
+        }
+
+        @GetMapping("/too-many")
+        void tooMany() {
+            throw new TooManyRequestsException("TOO_MANY_ATTEMPTS", "Too many attempts, try again later", 30);
+        }
+
+        @GetMapping("/unexpected")
+        void unexpected() {
+            throw new IllegalStateException("connection pool exhausted at 10.0.0.5");
+        }
+
+        @PostMapping("/body")
+        void body(@RequestBody Map<String, String> body) {
+        }
+
+        @GetMapping("/number/{id}")
+        void number(@PathVariable Long id) {
+        }
+
+        @GetMapping("/denied")
+        void denied() {
+            throw new AccessDeniedException("Access is denied");
+        }
+
+        @GetMapping("/gone")
+        void gone() {
+            throw new ResponseStatusException(HttpStatus.GONE, "Gone");
+        }
+    }
+}
@@ -0,0 +1,368 @@
+package com.usermanagement.app.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import com.usermanagement.app.entity.LoginUser;
+import com.usermanagement.app.entity.ManagedUser;
+import com.usermanagement.app.repository.LoginUserRepository;
+import com.usermanagement.app.repository.ManagedUserRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+ * End-to-end load run against the real app on a random port.
+ *
+ *   mvn -Ploadtest test -Dload.concurrency=64 -Dload.duration-seconds=60
+ *   mvn -Ploadtest test -Dload.virtual-threads=true
+ *
+ * Seeds load.admins admins with load.users-per-admin managed users each, then
+ * drives a weighted mix of AuthController calls from load.concurrency clients.
+ * Throughput and p50/p95/p99 per endpoint are printed and written to
+ * target/load-test/report.txt and report.csv.
+ *
+ * Reset-password is sent with a wrong OTP: a correct one would bump the token
+ * version and log every client of that admin out mid-run.
+ */
+@Tag("load")
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "spring.jpa.show-sql=false",
+                "logging.level.root=WARN",
+                "logging.level.org.springframework.security=WARN",
+                "spring.mail.host=127.0.0.1",
+                "spring.mail.port=3025",
+                "spring.mail.properties.mail.smtp.auth=false",
+                "spring.mail.properties.mail.smtp.starttls.enable=false",
+                "mail.outbox.capacity=100000",
+                // Every client shares one IP and a few emails; the throttle is not under test
+                "throttle.login.per-email=1000000",
+                "throttle.login.per-ip=1000000",
+                "throttle.forgot-password.per-email=1000000",
+                "throttle.forgot-password.per-ip=1000000",
+                "audit.journal.dir=target/audit/load"
+        }
+)
+class AuthControllerLoadTest {
+
+    private static final String PASSWORD = "LoadTest@123";
+
+    private static final int ADMINS = Integer.getInteger("load.admins", 5);
+    private static final int USERS_PER_ADMIN = Integer.getInteger("load.users-per-admin", 1000);
+    private static final int CONCURRENCY = Integer.getInteger("load.concurrency", 16);
+    private static final int DURATION_SECONDS = Integer.getInteger("load.duration-seconds", 30);
+    private static final int WARMUP_SECONDS = Integer.getInteger("load.warmup-seconds", 5);
+
+    // Share of each endpoint in the mix, out of the sum of all weights
+    private enum Endpoint {
+        LOGIN(10), LIST(50), ADD(15), DELETE(10), FORGOT_PASSWORD(5), RESET_PASSWORD(10);
+
+        final int weight;
+
+        Endpoint(int weight) {
+            this.weight = weight;
+        }
+    }
+
+    @RegisterExtension
+    static final GreenMailExtension smtp = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    @LocalServerPort
+    private int port;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    @Autowired
+    private LoginUserRepository loginUserRepository;
+
+    @Autowired
+    private ManagedUserRepository managedUserRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    private final HttpClient http = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .executor(Executors.newCachedThreadPool())
+            .build();
+
+    private final AtomicLong emailSequence = new AtomicLong();
+
+    @Test
+    void mixedTraffic() throws Exception {
+        seed();
+
+        // Warmup results are thrown away
+        run(WARMUP_SECONDS);
+        long start = System.nanoTime();
+        List<Map<Endpoint, LatencyRecorder>> results = run(DURATION_SECONDS);
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        Map<Endpoint, LatencyRecorder> merged = new EnumMap<>(Endpoint.class);
+        for (Endpoint endpoint : Endpoint.values()) {
+            LatencyRecorder total = new LatencyRecorder();
+            results.forEach(r -> total.merge(r.get(endpoint)));
+            merged.put(endpoint, total);
+        }
+
+        report(merged, seconds);
+
+        for (Endpoint endpoint : Endpoint.values()) {
+            assertThat(merged.get(endpoint).count()).as(endpoint.name()).isPositive();
+            assertThat(merged.get(endpoint).errors()).as(endpoint.name()).isZero();
+        }
+    }
+
+    // ---------------- SEEDING ----------------
+
+    private void seed() {
+        for (int a = 0; a < ADMINS; a++) {
+            LoginUser admin = new LoginUser();
+            admin.setName("Load Admin " + a);
+            admin.setEmail(adminEmail(a));
+            admin.setPassword(passwordEncoder.encode(PASSWORD));
+            admin = loginUserRepository.save(admin);
+
+            List<ManagedUser> batch = new ArrayList<>(1000);
+            for (int u = 0; u < USERS_PER_ADMIN; u++) {
+                ManagedUser user = new ManagedUser();
+                user.setName("Seed User " + u);
+                user.setEmail("seed" + u + ".admin" + a + "@example.com");
+                user.setAdminId(admin.getId());
+                batch.add(user);
+
+                if (batch.size() == 1000) {
+                    managedUserRepository.saveAll(batch);
+                    batch.clear();
+                }
+            }
+            managedUserRepository.saveAll(batch);
+        }
+    }
+
+    private static String adminEmail(int index) {
+        return "load.admin" + index + "@example.com";
+    }
+
+    // ---------------- TRAFFIC ----------------
+
+    private List<Map<Endpoint, LatencyRecorder>> run(int seconds) throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+
+        ExecutorService clients = Executors.newFixedThreadPool(CONCURRENCY);
+        try {
+            List<Future<Map<Endpoint, LatencyRecorder>>> futures = new ArrayList<>();
+            for (int c = 0; c < CONCURRENCY; c++) {
+                String email = adminEmail(c % ADMINS);
+                futures.add(clients.submit(() -> new Client(email).runUntil(deadline)));
+            }
+
+            List<Map<Endpoint, LatencyRecorder>> results = new ArrayList<>();
+            for (Future<Map<Endpoint, LatencyRecorder>> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } finally {
+            clients.shutdownNow();
+        }
+    }
+
+    // One simulated admin session; not shared between threads
+    private class Client {
+
+        private final String email;
+        private final Map<Endpoint, LatencyRecorder> recorders = new EnumMap<>(Endpoint.class);
+        private final Deque<Long> addedIds = new ArrayDeque<>();
+        private String token;
+        private String cursor;
+
+        Client(String email) {
+            this.email = email;
+            for (Endpoint endpoint : Endpoint.values()) {
+                recorders.put(endpoint, new LatencyRecorder());
+            }
+        }
+
+        Map<Endpoint, LatencyRecorder> runUntil(long deadline) throws Exception {
+            token = login();
+
+            while (System.nanoTime() < deadline) {
+                Endpoint endpoint = pick();
+
+                // Nothing of ours to delete yet
+                if (endpoint == Endpoint.DELETE && addedIds.isEmpty()) {
+                    endpoint = Endpoint.ADD;
+                }
+
+                long started = System.nanoTime();
+                boolean ok = call(endpoint);
+                recorders.get(endpoint).record(System.nanoTime() - started, ok);
+            }
+            return recorders;
+        }
+
+        private Endpoint pick() {
+            int total = 0;
+            for (Endpoint endpoint : Endpoint.values()) {
+                total += endpoint.weight;
+            }
+
+            int roll = ThreadLocalRandom.current().nextInt(total);
+            for (Endpoint endpoint : Endpoint.values()) {
+                roll -= endpoint.weight;
+                if (roll < 0) {
+                    return endpoint;
+                }
+            }
+            return Endpoint.LIST;
+        }
+
+        private boolean call(Endpoint endpoint) throws Exception {
+            switch (endpoint) {
+                case LOGIN -> {
+                    token = login();
+                    return token != null;
+                }
+                case LIST -> {
+                    HttpResponse<String> res = send(get("/users/list"
+                            + (cursor == null ? "" : "?cursor=" + cursor)));
+                    if (res.statusCode() != 200) {
+                        return false;
+                    }
+                    // Walk forward through the pages, then start over
+                    JsonNode next = JSON.readTree(res.body()).get("nextCursor");
+                    cursor = next == null || next.isNull() ? null : next.asText();
+                    return true;
+                }
+                case ADD -> {
+                    String userEmail = "load" + emailSequence.incrementAndGet() + "@example.com";
+                    HttpResponse<String> res = send(post("/users/add",
+                            Map.of("name", "Load User", "email", userEmail)));
+                    if (res.statusCode() != 200) {
+                        return false;
+                    }
+                    addedIds.push(JSON.readTree(res.body()).get("id").asLong());
+                    return true;
+                }
+                case DELETE -> {
+                    HttpResponse<String> res = send(authorized(
+                            "/users/delete/" + addedIds.pop()).DELETE().build());
+                    return res.statusCode() == 200;
+                }
+                case FORGOT_PASSWORD -> {
+                    HttpResponse<String> res = send(post("/forgot-password",
+                            Map.of("email", email)));
+                    // 429 once the OTP issue limit for this admin is reached
+                    return res.statusCode() == 200 || res.statusCode() == 429;
+                }
+                case RESET_PASSWORD -> {
+                    HttpResponse<String> res = send(post("/reset-password",
+                            Map.of("email", email, "otp", "000000", "newPassword", PASSWORD)));
+                    // Expected rejections: invalid/unrequested OTP, or too many attempts
+                    return res.statusCode() == 400 || res.statusCode() == 429;
+                }
+            }
+            return false;
+        }
+
+        private String login() throws Exception {
+            HttpResponse<String> res = send(post("/login",
+                    Map.of("email", email, "password", PASSWORD)));
+            if (res.statusCode() != 200) {
+                return null;
+            }
+            return JSON.readTree(res.body()).get("token").asText();
+        }
+
+        private HttpRequest get(String path) {
+            return authorized(path).GET().build();
+        }
+
+        private HttpRequest post(String path, Map<String, String> body) throws IOException {
+            return authorized(path)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(JSON.writeValueAsString(body)))
+                    .build();
+        }
+
+        private HttpRequest.Builder authorized(String path) {
+            HttpRequest.Builder builder = HttpRequest.newBuilder(
+                            URI.create("http://localhost:" + port + "/api/auth" + path))
+                    .timeout(Duration.ofSeconds(30));
+            if (token != null) {
+                builder.header("Authorization", "Bearer " + token);
+            }
+            return builder;
+        }
+
+        private HttpResponse<String> send(HttpRequest request) throws Exception {
+            return http.send(request, HttpResponse.BodyHandlers.ofString());
+        }
+    }
+
+    // ---------------- REPORT ----------------
+
+    private void report(Map<Endpoint, LatencyRecorder> merged, double seconds) throws IOException {
+        Path dir = Path.of("target", "load-test");
+        Files.createDirectories(dir);
+
+        StringBuilder text = new StringBuilder();
+        StringBuilder csv = new StringBuilder("endpoint,requests,errors,rps,p50_ms,p95_ms,p99_ms,max_ms\n");
+
+        text.append(String.format(Locale.ROOT,
+                "admins=%d users/admin=%d concurrency=%d duration=%.1fs virtual-threads=%b%n",
+                ADMINS, USERS_PER_ADMIN, CONCURRENCY, seconds, virtualThreads));
+        text.append(String.format("%-16s %9s %7s %9s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "errors", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms"));
+
+        int totalRequests = 0;
+        for (Map.Entry<Endpoint, LatencyRecorder> entry : merged.entrySet()) {
+            LatencyRecorder r = entry.getValue();
+            totalRequests += r.count();
+
+            Object[] row = {
+                    entry.getKey().name(), r.count(), r.errors(), r.count() / seconds,
+                    r.percentileMillis(50), r.percentileMillis(95),
+                    r.percentileMillis(99), r.maxMillis()
+            };
+            text.append(String.format(Locale.ROOT,
+                    "%-16s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f%n", row));
+            csv.append(String.format(Locale.ROOT,
+                    "%s,%d,%d,%.1f,%.2f,%.2f,%.2f,%.2f%n", row));
+        }
+        text.append(String.format(Locale.ROOT, "total %d requests, %.1f req/s%n",
+                totalRequests, totalRequests / seconds));
+
+        System.out.print(text);
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(dir.resolve("report.txt")))) {
+            out.print(text);
+        }
+        Files.writeString(dir.resolve("report.csv"), csv);
+    }
+}
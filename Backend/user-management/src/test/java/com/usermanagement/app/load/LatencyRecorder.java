@@ -0,0 +1,52 @@
+package com.usermanagement.app.load;
+
+import java.util.Arrays;
+
+// Latency samples of one endpoint, recorded by a single client thread.
+// Each client keeps its own recorders; they are merged once the run is over.
+class LatencyRecorder {
+
+    private long[] micros = new long[1024];
+    private int count;
+    private int errors;
+
+    void record(long elapsedNanos, boolean success) {
+        if (count == micros.length) {
+            micros = Arrays.copyOf(micros, count * 2);
+        }
+        micros[count++] = elapsedNanos / 1000;
+
+        if (!success) {
+            errors++;
+        }
+    }
+
+    void merge(LatencyRecorder other) {
+        for (int i = 0; i < other.count; i++) {
+            record(other.micros[i] * 1000, true);
+        }
+        errors += other.errors;
+    }
+
+    int count() {
+        return count;
+    }
+
+    int errors() {
+        return errors;
+    }
+
+    // Nearest-rank percentile in milliseconds; sorts the samples in place
+    double percentileMillis(double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        Arrays.sort(micros, 0, count);
+        int rank = (int) Math.ceil(percentile / 100.0 * count);
+        return micros[Math.max(0, rank - 1)] / 1000.0;
+    }
+
+    double maxMillis() {
+        return count == 0 ? 0 : percentileMillis(100);
+    }
+}
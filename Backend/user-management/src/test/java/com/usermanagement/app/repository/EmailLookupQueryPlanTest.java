@@ -0,0 +1,92 @@
+package com.usermanagement.app.repository;
+
+import com.usermanagement.app.util.EmailAddress;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Email lookups must compare the stored column directly so H2 can use an index
+@DataJpaTest(properties =
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.usermanagement.app.repository.EmailLookupQueryPlanTest$CapturingInspector")
+class EmailLookupQueryPlanTest {
+
+    // H2 prints the index condition, e.g. /* PUBLIC.IDX_EMAIL: EMAIL = ?1 */,
+    // only when the index is searched rather than scanned
+    private static final String INDEX_SEEK_ON_EMAIL = "/\\* PUBLIC\\.\\w+: [^*]*EMAIL = ";
+
+    @Autowired
+    private LoginUserRepository loginUserRepository;
+
+    @Autowired
+    private ManagedUserRepository managedUserRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void clearCaptured() {
+        CapturingInspector.STATEMENTS.clear();
+    }
+
+    @Test
+    void loginUserEmailLookupUsesIndex() {
+        loginUserRepository.findByEmail(EmailAddress.of(" Admin@Example.com "));
+
+        assertThat(explain(lastStatement(), "admin@example.com")).containsPattern(INDEX_SEEK_ON_EMAIL);
+    }
+
+    @Test
+    void loginUserExistsUsesIndex() {
+        loginUserRepository.existsByEmail(EmailAddress.of("Admin@Example.com"));
+
+        assertThat(explain(lastStatement(), "admin@example.com")).containsPattern(INDEX_SEEK_ON_EMAIL);
+    }
+
+    @Test
+    void managedUserDuplicateCheckUsesUniqueConstraintIndex() {
+        managedUserRepository.existsByEmailAndAdminId(EmailAddress.of("User@Example.com"), 1L);
+
+        String plan = explain(lastStatement(), "user@example.com", 1L);
+
+        assertThat(plan).containsPattern(INDEX_SEEK_ON_EMAIL);
+        assertThat(plan).contains("UK_MANAGED_USERS_EMAIL_ADMIN");
+    }
+
+    @Test
+    void caseInsensitiveComparisonCannotSeek() {
+        // The form generated by the old *IgnoreCase methods, kept as a baseline
+        String plan = explain(
+                "select id from login_users where upper(email) = upper(?)", "admin@example.com");
+
+        assertThat(plan).doesNotContainPattern(INDEX_SEEK_ON_EMAIL);
+    }
+
+    private String lastStatement() {
+        assertThat(CapturingInspector.STATEMENTS).isNotEmpty();
+        return CapturingInspector.STATEMENTS.get(CapturingInspector.STATEMENTS.size() - 1);
+    }
+
+    private String explain(String sql, Object... args) {
+        return jdbcTemplate.queryForObject("explain " + sql, String.class, args);
+    }
+
+    public static class CapturingInspector implements StatementInspector {
+
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
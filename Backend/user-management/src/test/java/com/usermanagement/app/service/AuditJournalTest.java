@@ -0,0 +1,88 @@
+package com.usermanagement.app.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AuditJournalTest {
+
+    @TempDir
+    Path dir;
+
+    private AuditJournal journal;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        // Smallest segment, so a few hundred records span several files
+        journal = new AuditJournal(new SimpleMeterRegistry(), true, dir.toString(), 4096, 60_000);
+        journal.open();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException, IOException {
+        journal.close();
+    }
+
+    @Test
+    void recordsReadBackInAppendOrderAcrossSegments() throws IOException {
+        for (int i = 0; i < 500; i++) {
+            journal.append(AuditRecord.Action.ADD_USER, 7L, i, "user" + i + "@example.com");
+        }
+        journal.append(AuditRecord.Action.DELETE_USER, 7L, 3L, null);
+        journal.flush();
+
+        assertThat(AuditJournal.segments(dir)).hasSizeGreaterThan(1);
+
+        List<AuditRecord> records = readAll();
+        assertThat(records).hasSize(501);
+        assertThat(records.get(42).subjectId()).isEqualTo(42L);
+        assertThat(records.get(42).detail()).isEqualTo("user42@example.com");
+        assertThat(records.get(500).action()).isEqualTo(AuditRecord.Action.DELETE_USER);
+        assertThat(records.get(500).detail()).isNull();
+    }
+
+    @Test
+    void readerStopsAtATornRecord() throws IOException {
+        journal.append(AuditRecord.Action.REGISTER, 1L, 1L, "admin@example.com");
+        journal.append(AuditRecord.Action.PASSWORD_RESET, 1L, 1L, "admin@example.com");
+        journal.flush();
+
+        // Flip a byte of the second record, as a crash mid-write would leave it
+        int first = AuditJournal.HEADER_BYTES + "admin@example.com".length();
+        Path segment = AuditJournal.segments(dir).get(0);
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{(byte) 0xFF}), first + 20);
+        }
+
+        assertThat(readAll())
+                .extracting(AuditRecord::action)
+                .containsExactly(AuditRecord.Action.REGISTER);
+    }
+
+    @Test
+    void longDetailIsCutOnACharacterBoundary() throws IOException {
+        // Three bytes each: 512 would fall inside the 171st character
+        journal.append(AuditRecord.Action.BULK_DELETE_USER, 1L, 2L, "\u20ac".repeat(200));
+        journal.flush();
+
+        assertThat(readAll().get(0).detail()).isEqualTo("\u20ac".repeat(170));
+    }
+
+    private List<AuditRecord> readAll() throws IOException {
+        try (Stream<AuditRecord> records = AuditJournalReader.read(dir)) {
+            return records.toList();
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.usermanagement.app.service;
+
+import com.usermanagement.app.entity.LoginUser;
+import com.usermanagement.app.exception.TooManyRequestsException;
+import com.usermanagement.app.repository.LoginUserRepository;
+import com.usermanagement.app.util.EmailAddress;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class AuthUserServiceTest {
+
+    private static final String EMAIL = "admin@example.com";
+
+    private EmailService emailService;
+    private InvalidationBus bus;
+    private AuthUserService service;
+
+    @BeforeEach
+    void setUp() {
+        LoginUser user = new LoginUser();
+        user.setId(1L);
+        user.setEmail(EMAIL);
+
+        LoginUserRepository repo = mock(LoginUserRepository.class);
+        when(repo.findByEmail(any(EmailAddress.class))).thenReturn(Optional.of(user));
+
+        emailService = mock(EmailService.class);
+        bus = mock(InvalidationBus.class);
+        service = new AuthUserService(repo, mock(PasswordEncoder.class), mock(TokenVersionService.class),
+                emailService, new InMemoryOtpStore(), bus, mock(AuditJournal.class),
+                mock(TransactionTemplate.class));
+    }
+
+    @Test
+    void aFullMailQueueDoesNotUseUpOtpIssues() {
+        when(emailService.sendOtp(eq(EMAIL), anyString())).thenReturn(false);
+
+        for (int i = 0; i < 10; i++) {
+            assertThatThrownBy(() -> service.sendOtp(EMAIL))
+                    .isInstanceOf(TooManyRequestsException.class)
+                    .extracting("code").isEqualTo("MAIL_QUEUE_FULL");
+        }
+        verifyNoInteractions(bus);
+
+        // Once the queue drains the user still gets every issue
+        when(emailService.sendOtp(eq(EMAIL), anyString())).thenReturn(true);
+        for (int i = 0; i < 5; i++) {
+            service.sendOtp(EMAIL);
+        }
+        assertThatThrownBy(() -> service.sendOtp(EMAIL))
+                .extracting("code").isEqualTo("TOO_MANY_OTP_REQUESTS");
+        verify(bus, times(5)).publish(InvalidationEvent.otp(EMAIL));
+    }
+}
@@ -0,0 +1,118 @@
+package com.usermanagement.app.service;
+
+import com.usermanagement.app.service.OtpStore.Check;
+import com.usermanagement.app.util.MutableClock;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InMemoryOtpStoreTest {
+
+    private static final String EMAIL = "user@example.com";
+    private static final Duration TTL = Duration.ofMinutes(5);
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2026-01-01T00:00:00Z"));
+    private InMemoryOtpStore store = new InMemoryOtpStore(clock);
+
+    @AfterEach
+    void tearDown() {
+        store.stop();
+    }
+
+    @Test
+    void validCodeIsConsumed() {
+        assertThat(store.issue(EMAIL, "111111", TTL, 5)).isTrue();
+
+        assertThat(store.verify(EMAIL, "111111", 5)).isEqualTo(Check.VALID);
+        assertThat(store.verify(EMAIL, "111111", 5)).isEqualTo(Check.NOT_REQUESTED);
+    }
+
+    @Test
+    void newCodeReplacesTheLiveOne() {
+        store.issue(EMAIL, "111111", TTL, 5);
+        store.issue(EMAIL, "222222", TTL, 5);
+
+        assertThat(store.verify(EMAIL, "111111", 5)).isEqualTo(Check.INVALID);
+        assertThat(store.verify(EMAIL, "222222", 5)).isEqualTo(Check.VALID);
+    }
+
+    @Test
+    void codeIsLockedAfterTooManyWrongAttempts() {
+        store.issue(EMAIL, "111111", TTL, 5);
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(store.verify(EMAIL, "999999", 3)).isEqualTo(Check.INVALID);
+        }
+
+        // Even the right code is refused once locked
+        assertThat(store.verify(EMAIL, "111111", 3)).isEqualTo(Check.TOO_MANY_ATTEMPTS);
+
+        // A new code starts with a clean attempt count
+        store.issue(EMAIL, "222222", TTL, 5);
+        assertThat(store.verify(EMAIL, "222222", 3)).isEqualTo(Check.VALID);
+    }
+
+    @Test
+    void expiredCodeIsRejectedAndDropped() {
+        store.issue(EMAIL, "111111", TTL, 5);
+
+        clock.advance(TTL);
+
+        assertThat(store.verify(EMAIL, "111111", 5)).isEqualTo(Check.EXPIRED);
+        assertThat(store.verify(EMAIL, "111111", 5)).isEqualTo(Check.NOT_REQUESTED);
+    }
+
+    @Test
+    void issuesAreLimitedWhileACodeIsLive() {
+        for (int i = 0; i < 3; i++) {
+            assertThat(store.issue(EMAIL, "11111" + i, TTL, 3)).isTrue();
+        }
+        assertThat(store.issue(EMAIL, "999999", TTL, 3)).isFalse();
+        assertThat(store.verify(EMAIL, "999999", 5)).isEqualTo(Check.INVALID);
+
+        // The count starts over once the live code expires
+        clock.advance(TTL);
+        assertThat(store.issue(EMAIL, "222222", TTL, 3)).isTrue();
+    }
+
+    @Test
+    void withdrawGivesTheIssueBack() {
+        store.issue(EMAIL, "111111", TTL, 2);
+        store.issue(EMAIL, "222222", TTL, 2);
+
+        // A code that is no longer live is left alone
+        store.withdraw(EMAIL, "111111");
+        assertThat(store.issue(EMAIL, "333333", TTL, 2)).isFalse();
+
+        store.withdraw(EMAIL, "222222");
+        assertThat(store.issue(EMAIL, "333333", TTL, 2)).isTrue();
+
+        // Withdrawing the only issue leaves nothing to verify
+        store.issue("other@example.com", "444444", TTL, 2);
+        store.withdraw("other@example.com", "444444");
+        assertThat(store.verify("other@example.com", "444444", 5)).isEqualTo(Check.NOT_REQUESTED);
+    }
+
+    @Test
+    void sweeperDropsExpiredCodesButNotTheirReplacements() throws InterruptedException {
+        // The sweeper sleeps on real time, so this one runs on the system clock
+        store = new InMemoryOtpStore();
+        store.start();
+
+        store.issue("a@example.com", "111111", Duration.ofMillis(50), 5);
+        store.issue("b@example.com", "111111", Duration.ofMillis(50), 5);
+        store.issue("b@example.com", "222222", Duration.ofHours(1), 5);
+
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (store.size() > 1 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+
+        assertThat(store.size()).isEqualTo(1);
+        assertThat(store.verify("b@example.com", "222222", 5)).isEqualTo(Check.VALID);
+    }
+}
@@ -0,0 +1,109 @@
+package com.usermanagement.app.service;
+
+import com.usermanagement.app.repository.LoginUserRepository;
+import com.usermanagement.app.repository.RevokedTokenRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+// Two nodes on a loopback network, each with its own caches
+class InvalidationBusTest {
+
+    private Node a;
+    private Node b;
+
+    @BeforeEach
+    void setUp() {
+        LoopbackInvalidationBus.Network network = new LoopbackInvalidationBus.Network();
+        a = new Node(network);
+        b = new Node(network);
+    }
+
+    @AfterEach
+    void tearDown() {
+        a.bus.close();
+        b.bus.close();
+    }
+
+    @Test
+    void userChangesOnOneNodeInvalidateTheOthersCaches() {
+        a.bus.publish(InvalidationEvent.usersChanged(1L));
+        a.bus.flush();
+
+        assertThat(b.listCache.version(1L)).isEqualTo(1);
+        verify(b.searchIndex).invalidate(1L);
+
+        // The publisher already updated itself
+        assertThat(a.listCache.version(1L)).isZero();
+        verify(a.searchIndex, never()).invalidate(anyLong());
+    }
+
+    @Test
+    void writeBurstsAreCoalescedIntoOneBatch() {
+        List<InvalidationEvent> seen = new CopyOnWriteArrayList<>();
+        b.bus.subscribe(InvalidationEvent.Topic.USERS_CHANGED, seen::add);
+
+        for (int i = 0; i < 1000; i++) {
+            a.bus.publish(InvalidationEvent.usersChanged(1L));
+            a.bus.publish(InvalidationEvent.usersChanged(2L));
+        }
+        a.bus.flush();
+
+        assertThat(seen).containsExactly(
+                InvalidationEvent.usersChanged(1L), InvalidationEvent.usersChanged(2L));
+        assertThat(b.listCache.version(1L)).isEqualTo(1);
+    }
+
+    @Test
+    void revocationsReachOtherNodesWithoutATableLookup() {
+        Instant expiry = Instant.now().plus(1, ChronoUnit.HOURS);
+
+        a.revocations.revoke("jti-1", expiry);
+        a.bus.flush();
+
+        assertThat(b.revocations.isRevoked("jti-1", expiry)).isTrue();
+        verify(b.revokedRepo, never()).existsById(anyString());
+    }
+
+    @Test
+    void codeIssuedOnAnotherNodeSupersedesTheLocalOne() {
+        b.otpStore.issue("user@example.com", "123456", Duration.ofMinutes(5), 5);
+
+        a.bus.publish(InvalidationEvent.otp("user@example.com"));
+        a.bus.flush();
+
+        assertThat(b.otpStore.verify("user@example.com", "123456", 5))
+                .isEqualTo(OtpStore.Check.NOT_REQUESTED);
+    }
+
+    private static final class Node {
+
+        final LoopbackInvalidationBus bus;
+        final UserListCache listCache = new UserListCache(new SimpleMeterRegistry(), 100, 60);
+        final UserSearchIndex searchIndex = mock(UserSearchIndex.class);
+        final InMemoryOtpStore otpStore = new InMemoryOtpStore();
+        final RevokedTokenRepository revokedRepo = mock(RevokedTokenRepository.class);
+        final TokenRevocationService revocations;
+
+        Node(LoopbackInvalidationBus.Network network) {
+            // Flushed by hand, the timer never fires during a test
+            bus = new LoopbackInvalidationBus(new SimpleMeterRegistry(), 60_000, 500, network);
+            revocations = new TokenRevocationService(
+                    revokedRepo, bus, new SimpleMeterRegistry(), 1000, 0.01);
+
+            new InvalidationSubscribers(bus, listCache, searchIndex,
+                    new TokenVersionService(mock(LoginUserRepository.class), bus), revocations, otpStore);
+        }
+    }
+}
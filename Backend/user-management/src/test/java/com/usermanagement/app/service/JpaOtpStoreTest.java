@@ -0,0 +1,148 @@
+package com.usermanagement.app.service;
+
+import com.usermanagement.app.entity.OtpToken;
+import com.usermanagement.app.repository.OtpTokenRepository;
+import com.usermanagement.app.service.OtpStore.Check;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.AdditionalAnswers.delegatesTo;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+// Runs against H2 without a test transaction, like the store does in production
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class JpaOtpStoreTest {
+
+    private static final String EMAIL = "user@example.com";
+    private static final Duration TTL = Duration.ofMinutes(5);
+
+    @Autowired
+    private OtpTokenRepository realRepo;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private OtpTokenRepository repo;
+    private JpaOtpStore store;
+
+    @BeforeEach
+    void setUp() {
+        repo = mock(OtpTokenRepository.class, delegatesTo(realRepo));
+        store = new JpaOtpStore(repo, new TransactionTemplate(transactionManager));
+    }
+
+    @AfterEach
+    void tearDown() {
+        realRepo.deleteAll();
+    }
+
+    @Test
+    void validCodeIsConsumed() {
+        assertThat(store.issue(EMAIL, "111111", TTL, 5)).isTrue();
+
+        assertThat(store.verify(EMAIL, "999999", 5)).isEqualTo(Check.INVALID);
+        assertThat(store.verify(EMAIL, "111111", 5)).isEqualTo(Check.VALID);
+        assertThat(realRepo.findById(EMAIL)).isEmpty();
+    }
+
+    @Test
+    void attemptsAndIssuesAreCountedInTheTable() {
+        store.issue(EMAIL, "111111", TTL, 2);
+        store.issue(EMAIL, "222222", TTL, 2);
+        assertThat(store.issue(EMAIL, "333333", TTL, 2)).isFalse();
+
+        for (int i = 0; i < 3; i++) {
+            store.verify(EMAIL, "999999", 3);
+        }
+        assertThat(store.verify(EMAIL, "222222", 3)).isEqualTo(Check.TOO_MANY_ATTEMPTS);
+        assertThat(realRepo.findById(EMAIL)).get()
+                .extracting(OtpToken::getIssued, OtpToken::getAttempts)
+                .containsExactly(2, 3);
+    }
+
+    @Test
+    void expiredCodeIsRejectedAndDeleted() {
+        store.issue(EMAIL, "111111", Duration.ZERO, 5);
+
+        assertThat(store.verify(EMAIL, "111111", 5)).isEqualTo(Check.EXPIRED);
+        assertThat(realRepo.findById(EMAIL)).isEmpty();
+    }
+
+    @Test
+    void aFailedPurgeLeavesTheNextOneRunning() {
+        store.issue(EMAIL, "123456", Duration.ofMinutes(-1), 3);
+        doThrow(new QueryTimeoutException("statement timed out"))
+                .doAnswer(inv -> realRepo.deleteExpired(inv.getArgument(0)))
+                .when(repo).deleteExpired(any());
+
+        store.purge();
+        assertThat(realRepo.count()).isEqualTo(1);
+
+        store.purge();
+        assertThat(realRepo.count()).isZero();
+    }
+
+    @Test
+    void withdrawGivesTheIssueBack() {
+        store.issue(EMAIL, "111111", TTL, 2);
+        store.issue(EMAIL, "222222", TTL, 2);
+
+        store.withdraw(EMAIL, "222222");
+        assertThat(realRepo.findById(EMAIL)).get().extracting(OtpToken::getIssued).isEqualTo(1);
+
+        store.withdraw(EMAIL, "222222");
+        assertThat(realRepo.findById(EMAIL)).isEmpty();
+    }
+
+    @Test
+    void concurrentFirstIssuesBothSucceed() throws Exception {
+        // Both lookups find no row to lock before either request inserts one
+        CyclicBarrier bothLookedUp = new CyclicBarrier(2);
+        AtomicInteger lookups = new AtomicInteger();
+        doAnswer(inv -> {
+            Object result = realRepo.findForUpdate(inv.getArgument(0));
+            if (lookups.incrementAndGet() <= 2) {
+                bothLookedUp.await(5, TimeUnit.SECONDS);
+            }
+            return result;
+        }).when(repo).findForUpdate(anyString());
+
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            List<Future<Boolean>> results = List.of(
+                    pool.submit(() -> store.issue(EMAIL, "111111", TTL, 5)),
+                    pool.submit(() -> store.issue(EMAIL, "222222", TTL, 5)));
+
+            for (Future<Boolean> result : results) {
+                assertThat(result.get(10, TimeUnit.SECONDS)).isTrue();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        // The loser retried against the winner's row instead of failing
+        assertThat(lookups).hasValue(3);
+        assertThat(realRepo.findById(EMAIL)).get().extracting(OtpToken::getIssued).isEqualTo(2);
+    }
+}
@@ -0,0 +1,126 @@
+package com.usermanagement.app.service;
+
+import com.usermanagement.app.exception.TooManyRequestsException;
+import com.usermanagement.app.service.LoginThrottle.Action;
+import com.usermanagement.app.util.MutableClock;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LoginThrottleTest {
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2026-01-01T00:00:00Z"));
+
+    @Test
+    void emptyBucketRefillsAtTheConfiguredRate() {
+        LoginThrottle throttle = throttle(100, 2, 100);
+
+        allowed(throttle, "a@example.com", "10.0.0.1");
+        allowed(throttle, "a@example.com", "10.0.0.1");
+
+        // Two per minute: the next token is 30 seconds away
+        assertThatThrownBy(() -> throttle.check(Action.LOGIN, "A@Example.com ", "10.0.0.1"))
+                .isInstanceOf(TooManyRequestsException.class)
+                .extracting("retryAfterSeconds").isEqualTo(30L);
+
+        clock.advance(Duration.ofSeconds(30));
+        allowed(throttle, "a@example.com", "10.0.0.1");
+        rejected(throttle, "a@example.com", "10.0.0.1");
+    }
+
+    @Test
+    void rejectionByAddressLeavesTheEmailAllowanceAlone() {
+        LoginThrottle throttle = throttle(100, 2, 1);
+
+        allowed(throttle, "a@example.com", "10.0.0.1");
+        rejected(throttle, "b@example.com", "10.0.0.1");
+        rejected(throttle, "b@example.com", "10.0.0.1");
+
+        // Both of b's tokens are still there for another address
+        allowed(throttle, "b@example.com", "10.0.0.2");
+        allowed(throttle, "b@example.com", "10.0.0.3");
+        rejected(throttle, "b@example.com", "10.0.0.4");
+    }
+
+    @Test
+    void newKeysShareAnOverflowBucketWhileTheMapIsFull() {
+        // One email and one address bucket fill the map
+        LoginThrottle throttle = throttle(2, 2, 100);
+        allowed(throttle, "a@example.com", "10.0.0.1");
+
+        // Every new email now draws from one shared bucket
+        allowed(throttle, "b@example.com", "10.0.0.2");
+        allowed(throttle, "c@example.com", "10.0.0.3");
+        rejected(throttle, "d@example.com", "10.0.0.4");
+        assertThat(throttle.size()).isEqualTo(2);
+
+        // Keys that already had a bucket keep their own
+        allowed(throttle, "a@example.com", "10.0.0.1");
+
+        // Refilled buckets are evicted, which makes room again
+        clock.advance(Duration.ofMinutes(1));
+        throttle.evictIdle();
+        assertThat(throttle.size()).isZero();
+        allowed(throttle, "d@example.com", "10.0.0.4");
+        assertThat(throttle.size()).isEqualTo(2);
+    }
+
+    @Test
+    void concurrentAcquiresNeverOverdrawABucket() throws Exception {
+        long now = 0;
+        LoginThrottle.Bucket bucket = new LoginThrottle.Bucket(100, now);
+        int threads = 8;
+        CountDownLatch start = new CountDownLatch(1);
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                results.add(pool.submit(() -> {
+                    start.await();
+                    int taken = 0;
+                    for (int i = 0; i < 50; i++) {
+                        if (bucket.tryAcquire(now) == 0) {
+                            taken++;
+                        }
+                    }
+                    return taken;
+                }));
+            }
+            start.countDown();
+
+            int taken = 0;
+            for (Future<Integer> result : results) {
+                taken += result.get();
+            }
+            assertThat(taken).isEqualTo(100);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private LoginThrottle throttle(int maxBuckets, int perEmail, int perIp) {
+        return new LoginThrottle(new SimpleMeterRegistry(), maxBuckets, perEmail, perIp, 1, 1, clock);
+    }
+
+    private static void allowed(LoginThrottle throttle, String email, String ip) {
+        assertThatCode(() -> throttle.check(Action.LOGIN, email, ip)).doesNotThrowAnyException();
+    }
+
+    private static void rejected(LoginThrottle throttle, String email, String ip) {
+        assertThatThrownBy(() -> throttle.check(Action.LOGIN, email, ip))
+                .isInstanceOf(TooManyRequestsException.class);
+    }
+}
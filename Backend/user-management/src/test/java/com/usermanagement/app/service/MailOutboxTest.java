@@ -0,0 +1,113 @@
+package com.usermanagement.app.service;
+
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.net.ServerSocket;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MailOutboxTest {
+
+    @RegisterExtension
+    static final GreenMailExtension smtp = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    private MailOutbox outbox;
+
+    @AfterEach
+    void stopOutbox() {
+        if (outbox != null) {
+            outbox.stop();
+        }
+    }
+
+    @Test
+    void deliversQueuedMessagesInBatches() throws InterruptedException {
+        outbox = new MailOutbox(sender(smtp.getSmtp().getPort()), new SimpleMeterRegistry(), 100, 2, 10, 3, 10, false);
+        outbox.start();
+
+        for (int i = 0; i < 25; i++) {
+            assertThat(outbox.enqueue(message("user" + i + "@example.com"))).isTrue();
+        }
+
+        assertThat(smtp.waitForIncomingEmail(5000, 25)).isTrue();
+        await(() -> outbox.getSentCount() == 25);
+        assertThat(outbox.getDeadLetters()).isEmpty();
+        assertThat(outbox.getAverageSendLatencyMillis()).isPositive();
+    }
+
+    @Test
+    void deliversOnVirtualThreads() throws InterruptedException {
+        outbox = new MailOutbox(sender(smtp.getSmtp().getPort()), new SimpleMeterRegistry(), 100, 2, 10, 3, 10, true);
+        outbox.start();
+
+        for (int i = 0; i < 5; i++) {
+            outbox.enqueue(message("user" + i + "@example.com"));
+        }
+
+        assertThat(smtp.waitForIncomingEmail(5000, 5)).isTrue();
+        await(() -> outbox.getSentCount() == 5);
+    }
+
+    @Test
+    void deadLettersAfterRetriesAreExhausted() throws Exception {
+        outbox = new MailOutbox(sender(unusedPort()), new SimpleMeterRegistry(), 100, 1, 10, 3, 10, false);
+        outbox.start();
+
+        outbox.enqueue(message("lost@example.com"));
+
+        await(() -> !outbox.getDeadLetters().isEmpty());
+
+        assertThat(outbox.getDeadLetters()).hasSize(1);
+        assertThat(outbox.getFailedCount()).isEqualTo(1);
+        assertThat(outbox.getSentCount()).isZero();
+    }
+
+    @Test
+    void rejectsWhenFull() {
+        // Not started, so nothing drains the queue
+        outbox = new MailOutbox(sender(smtp.getSmtp().getPort()), new SimpleMeterRegistry(), 2, 1, 10, 3, 10, false);
+
+        assertThat(outbox.enqueue(message("a@example.com"))).isTrue();
+        assertThat(outbox.enqueue(message("b@example.com"))).isTrue();
+        assertThat(outbox.enqueue(message("c@example.com"))).isFalse();
+        assertThat(outbox.getQueueDepth()).isEqualTo(2);
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertThat(condition.getAsBoolean()).isTrue();
+    }
+
+    private static JavaMailSenderImpl sender(int port) {
+        JavaMailSenderImpl sender = new JavaMailSenderImpl();
+        sender.setHost("127.0.0.1");
+        sender.setPort(port);
+        return sender;
+    }
+
+    private static SimpleMailMessage message(String to) {
+        SimpleMailMessage message = new SimpleMailMessage();
+        message.setFrom("noreply@example.com");
+        message.setTo(to);
+        message.setSubject("OTP Verification");
+        message.setText("Your OTP is: 123456");
+        return message;
+    }
+
+    private static int unusedPort() throws Exception {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
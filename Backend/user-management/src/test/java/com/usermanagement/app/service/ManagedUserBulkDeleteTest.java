@@ -0,0 +1,168 @@
+package com.usermanagement.app.service;
+
+import com.usermanagement.app.entity.ManagedUser;
+import com.usermanagement.app.repository.ManagedUserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+// Bulk deletes against H2, through the transactional service bean
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:bulk-delete",
+        "audit.journal.dir=target/audit/bulk-delete"
+})
+class ManagedUserBulkDeleteTest {
+
+    // Each test works under admins of its own
+    private static final AtomicLong ADMINS = new AtomicLong(1000);
+
+    @Autowired
+    private ManagedUserService service;
+
+    @Autowired
+    private UserListCache listCache;
+
+    @SpyBean
+    private ManagedUserRepository repo;
+
+    @MockBean
+    private UserSearchIndex searchIndex;
+
+    @MockBean
+    private AuditJournal auditJournal;
+
+    @Test
+    void idsOfAnotherAdminAreLeftAlone() {
+        long owner = ADMINS.incrementAndGet();
+        long other = ADMINS.incrementAndGet();
+        List<Long> ids = insert(owner, "user", 3);
+
+        assertThat(service.deleteUsers(other, ids)).isZero();
+
+        assertThat(repo.findByAdminId(owner)).hasSize(3);
+        assertThat(listCache.version(owner)).isZero();
+        assertThat(listCache.version(other)).isZero();
+        verifyNoInteractions(searchIndex, auditJournal);
+    }
+
+    @Test
+    void aFailedChunkRollsBackEveryChunk() {
+        long admin = ADMINS.incrementAndGet();
+        List<Long> ids = insert(admin, "user", ManagedUserService.DELETE_CHUNK_SIZE + 1);
+
+        // The second chunk holds only the last id; the first one goes through
+        doThrow(new QueryTimeoutException("statement timed out"))
+                .when(repo).deleteReturningIdsByAdminIdAndIdIn(admin, List.of(ids.get(ids.size() - 1)));
+
+        assertThatThrownBy(() -> service.deleteUsers(admin, ids))
+                .isInstanceOf(QueryTimeoutException.class);
+
+        assertThat(repo.findByAdminId(admin)).hasSize(ids.size());
+        assertThat(listCache.version(admin)).isZero();
+        verifyNoInteractions(searchIndex, auditJournal);
+    }
+
+    @Test
+    void committedBulkDeleteUpdatesIndexAndCache() {
+        long admin = ADMINS.incrementAndGet();
+        List<Long> ids = insert(admin, "user", 3);
+
+        assertThat(service.deleteUsers(admin, ids.subList(0, 2))).isEqualTo(2);
+
+        assertThat(repo.findByAdminId(admin)).extracting(ManagedUser::getId).containsExactly(ids.get(2));
+        assertThat(listCache.version(admin)).isEqualTo(1);
+        verify(searchIndex).remove(admin, ids.get(0));
+        verify(searchIndex).remove(admin, ids.get(1));
+
+        // One record per removed user
+        verify(auditJournal).append(AuditRecord.Action.BULK_DELETE_USER, admin, ids.get(0), null);
+        verify(auditJournal).append(AuditRecord.Action.BULK_DELETE_USER, admin, ids.get(1), null);
+        verifyNoMoreInteractions(auditJournal);
+    }
+
+    @Test
+    void domainDeleteAuditsEveryRemovedUser() {
+        long admin = ADMINS.incrementAndGet();
+        List<Long> ids = insert(admin, "a@example.com", "b@example.com", "c@other.com");
+
+        assertThat(service.deleteUsersByEmailDomain(admin, "Example.com")).isEqualTo(2);
+
+        for (Long id : ids.subList(0, 2)) {
+            verify(searchIndex).remove(admin, id);
+            verify(auditJournal).append(AuditRecord.Action.BULK_DELETE_USER, admin, id, "@example.com");
+        }
+        verifyNoMoreInteractions(auditJournal);
+        assertThat(listCache.version(admin)).isEqualTo(1);
+    }
+
+    @Test
+    void domainDeleteTreatsLikeWildcardsLiterally() {
+        long admin = ADMINS.incrementAndGet();
+        insert(admin, "a@ex_ample.com", "b@exxample.com", "c@ex%ample.com", "d@ex-ample.com",
+                "e@sub.ex_ample.com", "f@EX_AMPLE.com");
+
+        // "_" and "%" would otherwise match any character(s)
+        assertThat(service.deleteUsersByEmailDomain(admin, "ex_ample.com")).isEqualTo(2);
+        assertThat(service.deleteUsersByEmailDomain(admin, " @EX%AMPLE.COM ")).isEqualTo(1);
+
+        assertThat(repo.findByAdminId(admin)).extracting(ManagedUser::getEmail)
+                .containsExactlyInAnyOrder("b@exxample.com", "d@ex-ample.com", "e@sub.ex_ample.com");
+    }
+
+    @Test
+    void largeDomainsAreDeletedInChunks() {
+        long admin = ADMINS.incrementAndGet();
+        insert(admin, "user", ManagedUserService.DELETE_CHUNK_SIZE + 1);
+        insert(admin, "kept@other.com");
+
+        assertThat(service.deleteUsersByEmailDomain(admin, "example.com"))
+                .isEqualTo(ManagedUserService.DELETE_CHUNK_SIZE + 1);
+
+        assertThat(repo.findByAdminId(admin)).extracting(ManagedUser::getEmail).containsExactly("kept@other.com");
+        verify(repo, times(2)).deleteReturningIdsByAdminIdAndEmailLike(eq(admin), anyString(), anyInt());
+        verify(auditJournal, times(ManagedUserService.DELETE_CHUNK_SIZE + 1))
+                .append(eq(AuditRecord.Action.BULK_DELETE_USER), eq(admin), anyLong(), eq("@example.com"));
+    }
+
+    @Test
+    void domainDeleteOnlyTouchesTheAdminsOwnUsers() {
+        long owner = ADMINS.incrementAndGet();
+        long other = ADMINS.incrementAndGet();
+        insert(owner, "a@example.com");
+
+        assertThat(service.deleteUsersByEmailDomain(other, "example.com")).isZero();
+        assertThat(repo.findByAdminId(owner)).hasSize(1);
+        verifyNoInteractions(searchIndex, auditJournal);
+    }
+
+    private List<Long> insert(long adminId, String prefix, int count) {
+        String[] emails = new String[count];
+        for (int i = 0; i < count; i++) {
+            emails[i] = prefix + i + "@example.com";
+        }
+        return insert(adminId, emails);
+    }
+
+    private List<Long> insert(long adminId, String... emails) {
+        List<ManagedUser> users = new ArrayList<>(emails.length);
+        for (String email : emails) {
+            ManagedUser user = new ManagedUser();
+            user.setName("User");
+            user.setEmail(email);
+            user.setAdminId(adminId);
+            users.add(user);
+        }
+        return repo.saveAll(users).stream().map(ManagedUser::getId).toList();
+    }
+}
@@ -0,0 +1,102 @@
+package com.usermanagement.app.service;
+
+import com.usermanagement.app.dto.ManagedUserDTO;
+import com.usermanagement.app.dto.UserPageDTO;
+import com.usermanagement.app.exception.ConflictException;
+import com.usermanagement.app.repository.ManagedUserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ManagedUserServiceTest {
+
+    private ManagedUserRepository repo;
+    private UserListCache cache;
+    private ManagedUserService service;
+
+    @BeforeEach
+    void setUp() {
+        repo = mock(ManagedUserRepository.class);
+        cache = new UserListCache(new SimpleMeterRegistry(), 100, 60);
+        service = new ManagedUserService(repo, mock(UserSearchIndex.class), cache,
+                mock(InvalidationBus.class), mock(AuditJournal.class),
+                new TransactionTemplate(mock(PlatformTransactionManager.class)));
+
+        when(repo.findPageByAdminId(anyLong(), anyLong(), any()))
+                .thenAnswer(inv -> List.of(new ManagedUserDTO(1L, "User 1", "user1@example.com")));
+        when(repo.insertIfAbsent(anyString(), anyString(), anyLong())).thenReturn(Optional.of(10L));
+        when(repo.deleteByIdAndAdminId(anyLong(), anyLong())).thenReturn(1);
+    }
+
+    @Test
+    void repeatedListReadsAreServedFromCache() {
+        UserPageDTO first = service.listUsers(1L, null, 10);
+        UserPageDTO second = service.listUsers(1L, null, 10);
+
+        assertThat(second).isSameAs(first);
+        verify(repo, times(1)).findPageByAdminId(eq(1L), eq(0L), any());
+        assertThat(cache.stats().hitCount()).isEqualTo(1);
+        assertThat(cache.stats().missCount()).isEqualTo(1);
+    }
+
+    @Test
+    void writesInvalidateOnlyThatAdmin() {
+        service.listUsers(1L, null, 10);
+        service.listUsers(2L, null, 10);
+
+        service.addUser("New", "new@example.com", 1L);
+        service.listUsers(1L, null, 10);
+        service.listUsers(2L, null, 10);
+
+        verify(repo, times(2)).findPageByAdminId(eq(1L), anyLong(), any());
+        verify(repo, times(1)).findPageByAdminId(eq(2L), anyLong(), any());
+
+        service.deleteUser(5L, 2L);
+        service.listUsers(2L, null, 10);
+
+        verify(repo, times(2)).findPageByAdminId(eq(2L), anyLong(), any());
+    }
+
+    @Test
+    void onlyTheEmailConstraintIsReportedAsAConflict() {
+        doThrow(new DataIntegrityViolationException("NULL not allowed"))
+                .when(repo).insertIfAbsent(anyString(), anyString(), anyLong());
+
+        assertThatThrownBy(() -> service.addUser("New", "new@example.com", 1L))
+                .isExactlyInstanceOf(DataIntegrityViolationException.class);
+    }
+
+    @Test
+    void aTakenEmailIsAConflictWithoutAnException() {
+        when(repo.insertIfAbsent("Dup", "dup@example.com", 1L)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> service.addUser("Dup", "Dup@Example.com", 1L))
+                .isInstanceOf(ConflictException.class);
+        assertThat(cache.version(1L)).isZero();
+    }
+
+    @Test
+    void listETagChangesOnlyWhenTheAdminsUsersChange() {
+        String before = service.listETag(1L, null, null);
+
+        assertThat(service.listETag(1L, null, null)).isEqualTo(before);
+        assertThat(service.listETag(2L, null, null)).isNotEqualTo(before);
+        assertThat(service.listETag(1L, null, 10)).isNotEqualTo(before);
+
+        service.addUser("New", "new@example.com", 1L);
+
+        assertThat(service.listETag(1L, null, null)).isNotEqualTo(before);
+        verify(repo, never()).findPageByAdminId(anyLong(), anyLong(), any());
+    }
+}
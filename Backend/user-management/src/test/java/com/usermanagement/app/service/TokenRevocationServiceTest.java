@@ -0,0 +1,64 @@
+package com.usermanagement.app.service;
+
+import com.usermanagement.app.repository.RevokedTokenRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class TokenRevocationServiceTest {
+
+    private RevokedTokenRepository repo;
+    private TokenRevocationService service;
+
+    @BeforeEach
+    void setUp() {
+        repo = mock(RevokedTokenRepository.class);
+        service = new TokenRevocationService(repo, mock(InvalidationBus.class),
+                new SimpleMeterRegistry(), 1000, 0.01);
+    }
+
+    @Test
+    void revokedTokenIsRejectedWithoutQueryingTheTable() {
+        Instant expiry = Instant.now().plus(1, ChronoUnit.HOURS);
+
+        service.revoke("revoked-jti", expiry);
+
+        assertThat(service.isRevoked("revoked-jti", expiry)).isTrue();
+        verify(repo, never()).existsById(anyString());
+    }
+
+    @Test
+    void liveTokensRarelyReachTheTable() {
+        Instant expiry = Instant.now().plus(1, ChronoUnit.HOURS);
+        for (int i = 0; i < 1000; i++) {
+            service.revoke(UUID.randomUUID().toString(), expiry);
+        }
+
+        int checks = 10_000;
+        for (int i = 0; i < checks; i++) {
+            assertThat(service.isRevoked(UUID.randomUUID().toString(), expiry)).isFalse();
+        }
+
+        // Only Bloom filter false positives are looked up, about 1% at capacity
+        verify(repo, atMost(checks * 3 / 100)).existsById(anyString());
+    }
+
+    @Test
+    void tokensExpiringInOtherHoursUseOtherBuckets() {
+        Instant expiry = Instant.now().plus(1, ChronoUnit.HOURS);
+
+        service.revoke("revoked-jti", expiry);
+
+        assertThat(service.isRevoked("revoked-jti", expiry.plus(2, ChronoUnit.HOURS))).isFalse();
+        assertThat(service.isRevoked(null, expiry)).isFalse();
+        verify(repo, never()).existsById(anyString());
+    }
+}
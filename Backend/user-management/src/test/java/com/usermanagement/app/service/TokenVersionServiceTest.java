@@ -0,0 +1,93 @@
+package com.usermanagement.app.service;
+
+import com.usermanagement.app.repository.LoginUserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class TokenVersionServiceTest {
+
+    private LoginUserRepository repo;
+    private InvalidationBus bus;
+    private TokenVersionService service;
+
+    @BeforeEach
+    void setUp() {
+        repo = mock(LoginUserRepository.class);
+        bus = mock(InvalidationBus.class);
+        service = new TokenVersionService(repo, bus);
+
+        when(repo.findTokenVersionById(1L)).thenReturn(Optional.of(3));
+        when(repo.incrementTokenVersion(1L)).thenReturn(1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void bumpIsVisibleOnlyAfterCommit() {
+        assertThat(service.currentVersion(1L)).isEqualTo(3);
+
+        TransactionSynchronizationManager.initSynchronization();
+        when(repo.findTokenVersionById(1L)).thenReturn(Optional.of(4));
+        service.bump(1L);
+
+        assertThat(service.isCurrent(1L, 3)).isTrue();
+        verifyNoInteractions(bus);
+
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(TransactionSynchronization::afterCommit);
+
+        assertThat(service.isCurrent(1L, 3)).isFalse();
+        assertThat(service.isCurrent(1L, 4)).isTrue();
+        verify(bus).publish(InvalidationEvent.tokenVersion(1L));
+    }
+
+    @Test
+    void rolledBackBumpLeavesTheCacheAlone() {
+        assertThat(service.currentVersion(1L)).isEqualTo(3);
+
+        TransactionSynchronizationManager.initSynchronization();
+        service.bump(1L);
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        assertThat(service.isCurrent(1L, 3)).isTrue();
+        verifyNoInteractions(bus);
+    }
+
+    @Test
+    void staleLoadNeverOverwritesANewerVersion() {
+        AtomicInteger reads = new AtomicInteger();
+
+        // A reader loads the old row, a bump commits before the reader caches it
+        when(repo.findTokenVersionById(1L)).thenAnswer(inv -> {
+            if (reads.incrementAndGet() == 1) {
+                service.bump(1L);
+                return Optional.of(3);
+            }
+            return Optional.of(4);
+        });
+
+        assertThat(service.currentVersion(1L)).isEqualTo(4);
+        assertThat(service.isCurrent(1L, 3)).isFalse();
+    }
+
+    @Test
+    void bumpingAMissingUserReportsIt() {
+        assertThat(service.bump(2L)).isFalse();
+        verifyNoInteractions(bus);
+    }
+}
@@ -0,0 +1,244 @@
+package com.usermanagement.app.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.usermanagement.app.dto.ImportResultDTO;
+import com.usermanagement.app.entity.ManagedUser;
+import com.usermanagement.app.repository.ManagedUserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.AdditionalAnswers.delegatesTo;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+// Runs against H2 without a test transaction: every chunk commits on its own
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class UserImportServiceTest {
+
+    private static final long ADMIN = 1L;
+
+    @Autowired
+    private ManagedUserRepository realRepo;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private ManagedUserRepository repo;
+    private InvalidationBus bus;
+    private UserImportService service;
+
+    @BeforeEach
+    void setUp() {
+        repo = mock(ManagedUserRepository.class, delegatesTo(realRepo));
+        bus = mock(InvalidationBus.class);
+        service = new UserImportService(repo, entityManager, new TransactionTemplate(transactionManager),
+                new ObjectMapper(), mock(UserSearchIndex.class),
+                new UserListCache(new SimpleMeterRegistry(), 100, 60), bus, mock(AuditJournal.class));
+    }
+
+    @AfterEach
+    void tearDown() {
+        realRepo.deleteAll();
+    }
+
+    @Test
+    void csvSkipsTheHeaderAndBlankLinesAndUnquotesFields() throws IOException {
+        ImportResultDTO result = csv("""
+                name,email
+                "Doe, ""JD"" Jane", Jane@Example.com
+
+                Bob,bob@example.com
+                """);
+
+        assertThat(result.getAccepted()).isEqualTo(2);
+        assertThat(result.getRows()).extracting(ImportResultDTO.RowResult::getRow).containsExactly(1, 2);
+        assertThat(realRepo.findByEmailAndAdminId("jane@example.com", ADMIN))
+                .map(ManagedUser::getName).hasValue("Doe, \"JD\" Jane");
+    }
+
+    @Test
+    void jsonSkipsUnknownAndNestedValues() throws IOException {
+        ImportResultDTO result = json("""
+                [
+                  {"name": "A", "email": "a@example.com", "tags": {"x": [1, {"email": "no"}]}},
+                  {"name": {"first": "B"}, "email": "b@example.com"},
+                  {"email": ["c@example.com"], "name": "C"},
+                  {"email": "d@example.com", "name": "D"}
+                ]
+                """);
+
+        assertThat(result.getRows())
+                .extracting(ImportResultDTO.RowResult::getRow, ImportResultDTO.RowResult::isAccepted,
+                        ImportResultDTO.RowResult::getMessage)
+                .containsExactly(
+                        tuple(1, true, null),
+                        tuple(2, false, "Name is required"),
+                        tuple(3, false, "Email is required"),
+                        tuple(4, true, null));
+    }
+
+    @Test
+    void largeImportsAreInsertedInChunks() throws IOException {
+        int rows = UserImportService.CHUNK_SIZE * 2 + 1;
+        StringBuilder body = new StringBuilder();
+        for (int i = 0; i < rows; i++) {
+            body.append("User ").append(i).append(",user").append(i).append("@example.com\n");
+        }
+
+        ImportResultDTO result = csv(body.toString());
+
+        assertThat(result.getAccepted()).isEqualTo(rows);
+        assertThat(realRepo.count()).isEqualTo(rows);
+
+        // One duplicate check and one cache invalidation per chunk
+        verify(repo, times(3)).findExistingEmails(eq(ADMIN), anyCollection());
+        verify(bus, times(3)).publish(InvalidationEvent.usersChanged(ADMIN));
+    }
+
+    @Test
+    void badRowsAreRejectedWithTheirOwnReason() throws IOException {
+        insertExisting("taken@example.com");
+        String longName = "n".repeat(ManagedUser.NAME_LENGTH + 1);
+
+        ImportResultDTO result = csv("""
+                Ok,ok@example.com
+                Taken,TAKEN@example.com
+                Again,ok@example.com
+                %s,long@example.com
+                ,blank@example.com
+                Fine,fine@example.com
+                Bad,not-an-email
+                """.formatted(longName));
+
+        assertThat(result.getRows())
+                .extracting(ImportResultDTO.RowResult::getRow, ImportResultDTO.RowResult::getMessage)
+                .containsExactly(
+                        tuple(1, null),
+                        tuple(2, "User email already exists for this admin"),
+                        tuple(3, "Duplicate email in import"),
+                        tuple(4, "Name must be at most 100 characters"),
+                        tuple(5, "Name is required"),
+                        tuple(6, null),
+                        tuple(7, "Email is not a valid address"));
+        assertThat(result.getAccepted()).isEqualTo(2);
+    }
+
+    @Test
+    void concurrentInsertRejectsOnlyTheConflictingRow() throws IOException {
+        insertExisting("raced@example.com");
+
+        // The duplicate check runs before the other request commits
+        AtomicBoolean first = new AtomicBoolean(true);
+        doAnswer(inv -> first.getAndSet(false)
+                ? List.of()
+                : realRepo.findExistingEmails(inv.getArgument(0), inv.getArgument(1)))
+                .when(repo).findExistingEmails(anyLong(), anyCollection());
+
+        ImportResultDTO result = csv("""
+                A,a@example.com
+                Raced,raced@example.com
+                B,b@example.com
+                """);
+
+        assertThat(result.getRows())
+                .extracting(ImportResultDTO.RowResult::getRow, ImportResultDTO.RowResult::isAccepted)
+                .containsExactly(tuple(1, true), tuple(2, false), tuple(3, true));
+        assertThat(result.getRows().get(1).getMessage()).isEqualTo("User email already exists for this admin");
+        assertThat(realRepo.count()).isEqualTo(3);
+    }
+
+    @Test
+    void csvHeaderPicksColumnsByName() throws IOException {
+        ImportResultDTO result = csv("""
+                email,id,name
+                a@example.com,7,Ann
+                """);
+
+        assertThat(result.getAccepted()).isEqualTo(1);
+        assertThat(realRepo.findByEmailAndAdminId("a@example.com", ADMIN))
+                .map(ManagedUser::getName).hasValue("Ann");
+    }
+
+    @Test
+    void exportsImportBackUnchanged() throws IOException {
+        csv("""
+                "Doe, ""JD"" Jane",jane@example.com
+                Bob,bob@example.com
+                """);
+        List<List<String>> users = usersOf(ADMIN);
+
+        for (UserExportService.Format format : UserExportService.Format.values()) {
+            byte[] exported = export(format);
+            realRepo.deleteAll();
+
+            ImportResultDTO result = format == UserExportService.Format.CSV
+                    ? service.importCsv(ADMIN, new ByteArrayInputStream(exported))
+                    : service.importJson(ADMIN, new ByteArrayInputStream(exported));
+
+            assertThat(result.getRows()).allMatch(ImportResultDTO.RowResult::isAccepted);
+            assertThat(usersOf(ADMIN)).as(format.name()).isEqualTo(users);
+        }
+    }
+
+    private byte[] export(UserExportService.Format format) {
+        UserExportService exportService = new UserExportService(realRepo, entityManager, new ObjectMapper());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // The export streams rows, which needs an open transaction
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            try {
+                exportService.export(ADMIN, format, out);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        });
+        return out.toByteArray();
+    }
+
+    private List<List<String>> usersOf(long adminId) {
+        return realRepo.findByAdminId(adminId).stream()
+                .map(user -> List.of(user.getName(), user.getEmail()))
+                .sorted(Comparator.comparing((List<String> user) -> user.get(1)))
+                .toList();
+    }
+
+    private void insertExisting(String email) {
+        ManagedUser user = new ManagedUser();
+        user.setName("Existing");
+        user.setEmail(email);
+        user.setAdminId(ADMIN);
+        realRepo.save(user);
+    }
+
+    private ImportResultDTO csv(String body) throws IOException {
+        return service.importCsv(ADMIN, new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private ImportResultDTO json(String body) throws IOException {
+        return service.importJson(ADMIN, new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+    }
+}
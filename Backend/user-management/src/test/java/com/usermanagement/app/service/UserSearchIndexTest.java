@@ -0,0 +1,164 @@
+package com.usermanagement.app.service;
+
+import com.usermanagement.app.dto.ManagedUserDTO;
+import com.usermanagement.app.entity.ManagedUser;
+import com.usermanagement.app.repository.ManagedUserRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class UserSearchIndexTest {
+
+    private ManagedUserRepository repo;
+    private UserSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        repo = mock(ManagedUserRepository.class);
+        index = new UserSearchIndex(repo, mock(EntityManager.class));
+    }
+
+    @Test
+    void findsUsersByAnySubstringOfNameOrEmail() {
+        add(1L, 1L, "Jane Doe", "jane@example.com");
+        add(1L, 2L, "Bob Stone", "bob@corp.io");
+
+        assertThat(ids(1L, "doe")).containsExactly(1L);
+        assertThat(ids(1L, "ton")).containsExactly(2L);
+        assertThat(ids(1L, "ne d")).containsExactly(1L);
+        assertThat(ids(1L, "xamp")).containsExactly(1L);
+        assertThat(ids(1L, "rp.i")).containsExactly(2L);
+        assertThat(ids(1L, "  JANE@EX ")).containsExactly(1L);
+
+        // Short queries are answered straight from their 1- or 2-gram posting
+        assertThat(ids(1L, "o")).containsExactly(1L, 2L);
+        assertThat(ids(1L, "rp")).containsExactly(2L);
+
+        // Never across the name/email boundary
+        assertThat(ids(1L, "doejane")).isEmpty();
+        assertThat(ids(1L, "zzz")).isEmpty();
+    }
+
+    @Test
+    void wordPrefixMatchesRankBeforeOtherSubstrings() {
+        add(1L, 1L, "Joanne", "j1@example.com");
+        add(1L, 2L, "Ann Lee", "a2@example.com");
+
+        assertThat(ids(1L, "ann")).containsExactly(2L, 1L);
+    }
+
+    @Test
+    void exactTermsSortBeforeLongerTermsWithTheSamePrefix() {
+        // "ann\0<id>" < "anna\0<id>": the separator sorts before every character,
+        // so ids never interleave with longer terms whatever their digits
+        add(1L, 2L, "Anna", "x2@example.com");
+        add(1L, 10L, "Ann", "x10@example.com");
+        add(1L, 3L, "An", "x3@example.com");
+
+        assertThat(ids(1L, "ann")).containsExactly(10L, 2L);
+        assertThat(ids(1L, "an")).containsExactly(3L, 10L, 2L);
+    }
+
+    @Test
+    void limitAppliesAcrossBothPassesWithoutDuplicates() {
+        LongStream.rangeClosed(1, 20).forEach(id -> add(1L, id, "Sam " + id, "sam" + id + "@example.com"));
+
+        // Every user matches as a word prefix and as a substring
+        List<Long> ids = ids(1L, "sam", 5);
+        assertThat(ids).hasSize(5).doesNotHaveDuplicates();
+
+        assertThat(ids(1L, "am", 50)).hasSize(20).doesNotHaveDuplicates();
+    }
+
+    @Test
+    void everyTrigramPresentIsNotEnoughForAMatch() {
+        add(1L, 1L, "Bca Cab Abc", "x@example.com");
+        add(1L, 2L, "Abcab", "y@example.com");
+
+        assertThat(ids(1L, "abcab")).containsExactly(2L);
+    }
+
+    @Test
+    void shortQueriesStopAtTheLimitInIdOrder() {
+        LongStream.rangeClosed(1, 1000).forEach(id -> add(1L, id, "N" + id, "u" + id + "@example.com"));
+        index.remove(1L, 2L);
+
+        // "xa" is in every email but starts no word
+        assertThat(ids(1L, "xa", 3)).containsExactly(1L, 3L, 4L);
+        assertThat(ids(1L, "zz")).isEmpty();
+    }
+
+    @Test
+    void removedUsersAreNoLongerFound() {
+        add(1L, 1L, "Jane Doe", "jane@example.com");
+        add(1L, 2L, "John Doe", "john@example.com");
+
+        index.remove(1L, 1L);
+
+        assertThat(ids(1L, "jane")).isEmpty();
+        assertThat(ids(1L, "ane")).isEmpty();
+        assertThat(ids(1L, "doe")).containsExactly(2L);
+    }
+
+    @Test
+    void reAddingAUserReplacesItsOldText() {
+        add(1L, 1L, "Old Name", "old@example.com");
+        add(1L, 1L, "New Name", "new@example.com");
+
+        assertThat(ids(1L, "old")).isEmpty();
+        assertThat(ids(1L, "ew n")).containsExactly(1L);
+    }
+
+    @Test
+    void adminsNeverSeeEachOthersUsers() {
+        add(1L, 1L, "Jane", "jane@example.com");
+        add(2L, 2L, "Janet", "janet@example.com");
+
+        assertThat(ids(1L, "jan")).containsExactly(1L);
+        assertThat(ids(2L, "jan")).containsExactly(2L);
+        assertThat(ids(3L, "jan")).isEmpty();
+
+        // An id of another admin removes nothing here
+        index.remove(2L, 1L);
+        assertThat(ids(1L, "jan")).containsExactly(1L);
+    }
+
+    @Test
+    void staleAdminIsReloadedFromDtoPages() {
+        add(1L, 1L, "Gone", "gone@example.com");
+        when(repo.findPageByAdminId(eq(1L), eq(0L), any(Limit.class)))
+                .thenReturn(List.of(new ManagedUserDTO(5L, "Fresh", "fresh@example.com")));
+
+        index.invalidate(1L);
+
+        assertThat(ids(1L, "res")).containsExactly(5L);
+        assertThat(ids(1L, "gone")).isEmpty();
+        verify(repo, times(1)).findPageByAdminId(eq(1L), anyLong(), any(Limit.class));
+        verify(repo, never()).findByAdminId(anyLong());
+    }
+
+    private void add(long adminId, long id, String name, String email) {
+        ManagedUser user = new ManagedUser();
+        user.setId(id);
+        user.setAdminId(adminId);
+        user.setName(name);
+        user.setEmail(email);
+        index.add(user);
+    }
+
+    private List<Long> ids(long adminId, String query) {
+        return ids(adminId, query, 10);
+    }
+
+    private List<Long> ids(long adminId, String query, int limit) {
+        return index.search(adminId, query, limit).stream().map(ManagedUserDTO::getId).toList();
+    }
+}
@@ -7,9 +7,10 @@ import {
   Alert,
   ActivityIndicator,
 } from "react-native";
-import { useState } from "react";
+import { useRef, useState } from "react";
 import { useRouter } from "expo-router";
 import { getToken, clearStorage } from "../../utils/storage";
+import { errorMessage, newIdempotencyKey } from "../../utils/api";
 
 const API = process.env.EXPO_PUBLIC_API_URL;
 
@@ -20,6 +21,9 @@ export default function AddUserScreen() {
   const [email, setEmail] = useState("");
   const [loading, setLoading] = useState(false);
 
+  // Kept across retries of the same user so a lost response is not added twice
+  const pending = useRef<{ body: string; key: string } | null>(null);
+
   const addUser = async () => {
     const n = name.trim();
     const e = email.trim().toLowerCase();
@@ -56,6 +60,17 @@ export default function AddUserScreen() {
       return;
     }
 
+    const body = JSON.stringify({
+      name: n,
+      email: e,
+    });
+
+    const attempt =
+      pending.current?.body === body
+        ? pending.current
+        : { body, key: newIdempotencyKey() };
+    pending.current = attempt;
+
     try {
       setLoading(true);
 
@@ -64,13 +79,14 @@ export default function AddUserScreen() {
         headers: {
           "Content-Type": "application/json",
           Authorization: token, // Bearer token
+          "Idempotency-Key": attempt.key,
         },
-        body: JSON.stringify({
-          name: n,
-          email: e,
-        }),
+        body,
       });
 
+      // Got an answer, the next attempt is a new request
+      pending.current = null;
+
       if (res.status === 401) {
         await clearStorage();
         router.replace("/(tabs)/LoginScreen");
@@ -80,7 +96,7 @@ export default function AddUserScreen() {
       const msg = await res.text();
 
       if (!res.ok) {
-        Alert.alert("Error", msg || "User not added");
+        Alert.alert("Error", errorMessage(msg, "User not added"));
         return;
       }
 
@@ -8,6 +8,7 @@ import {
 } from "react-native";
 import { useState } from "react";
 import { useRouter } from "expo-router";
+import { errorMessage } from "../../utils/api";
 
 const API = process.env.EXPO_PUBLIC_API_URL;
 
@@ -35,7 +36,7 @@ export default function ForgotPasswordScreen() {
       const msg = await res.text();
 
       if (!res.ok) {
-        Alert.alert("Error", msg || "OTP not sent");
+        Alert.alert("Error", errorMessage(msg, "OTP not sent"));
         return;
       }
 
@@ -9,6 +9,7 @@ import {
 } from "react-native";
 import { useState } from "react";
 import { useRouter } from "expo-router";
+import { errorMessage } from "../../utils/api";
 import {
   saveLoginEmail,
   saveAdminId,
@@ -56,7 +57,7 @@ export default function LoginScreen() {
       const text = await res.text();
 
       if (!res.ok) {
-        Alert.alert("Login Failed", text || "Invalid email or password");
+        Alert.alert("Login Failed", errorMessage(text, "Invalid email or password"));
         return;
       }
 
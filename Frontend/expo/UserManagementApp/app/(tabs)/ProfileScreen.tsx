@@ -11,6 +11,7 @@ import {
   getToken,
   clearStorage,
 } from "../../utils/storage";
+import { revokeToken } from "../../utils/api";
 
 
 export default function ProfileScreen() {
@@ -36,6 +37,7 @@ export default function ProfileScreen() {
   };
 
   const logout = async () => {
+    await revokeToken(await getToken());
     await clearStorage();
     router.replace("/(tabs)/LoginScreen");
   };
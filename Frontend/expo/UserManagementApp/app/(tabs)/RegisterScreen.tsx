@@ -9,6 +9,7 @@ import {
 } from "react-native";
 import { useState } from "react";
 import { useRouter } from "expo-router";
+import { errorMessage } from "../../utils/api";
 
 const API = process.env.EXPO_PUBLIC_API_URL;
 
@@ -69,7 +70,7 @@ export default function RegisterScreen() {
       const text = await res.text();
 
       if (!res.ok) {
-        showAlert("Error", text || "Email already exists");
+        showAlert("Error", errorMessage(text, "Email already exists"));
         return;
       }
 
@@ -8,6 +8,7 @@ import {
 } from "react-native";
 import { useState } from "react";
 import { useRouter, useLocalSearchParams } from "expo-router";
+import { errorMessage } from "../../utils/api";
 
 const API = process.env.EXPO_PUBLIC_API_URL;
 
@@ -62,7 +63,7 @@ export default function ResetPasswordScreen() {
       const msg = await res.text();
 
       if (!res.ok) {
-        Alert.alert("Error", msg || "Password not reset");
+        Alert.alert("Error", errorMessage(msg, "Password not reset"));
         return;
       }
 
@@ -16,6 +16,7 @@ import {
   getLoginEmail,
   getToken,
 } from "../../utils/storage";
+import { revokeToken } from "../../utils/api";
 
 
 const API = process.env.EXPO_PUBLIC_API_URL;
@@ -35,6 +36,11 @@ export default function UserListScreen() {
   const [showSidebar, setShowSidebar] = useState(false);
   const [email, setEmail] = useState<string | null>(null);
   const [users, setUsers] = useState<User[]>([]);
+  const [nextCursor, setNextCursor] = useState<string | null>(null);
+  const [loadingMore, setLoadingMore] = useState(false);
+
+  // ETag of the first page; it changes whenever any of the admin's users change
+  const listEtag = useRef<string | null>(null);
 
   useFocusEffect(
     useCallback(() => {
@@ -42,7 +48,8 @@ export default function UserListScreen() {
     }, [])
   );
 
-  const loadUsers = async () => {
+  // Load the first page, or the page after `cursor` when given
+  const loadUsers = async (cursor?: string) => {
     const token = await getToken();
 
     if (!token) {
@@ -50,12 +57,24 @@ export default function UserListScreen() {
       return;
     }
 
+    const query = cursor ? `?cursor=${encodeURIComponent(cursor)}` : "";
+
+    const headers: Record<string, string> = {
+      Authorization: token, // already contains Bearer
+    };
+
+    // Revalidate instead of refetching on every focus
+    if (!cursor && listEtag.current) {
+      headers["If-None-Match"] = listEtag.current;
+    }
+
     try {
-      const res = await fetch(`${API}/api/auth/users/list`, {
-        headers: {
-          Authorization: token, // already contains Bearer
-        },
-      });
+      const res = await fetch(`${API}/api/auth/users/list${query}`, { headers });
+
+      // Nothing changed since the last load, keep every page already shown
+      if (res.status === 304) {
+        return;
+      }
 
       if (!res.ok) {
         await clearStorage();
@@ -64,12 +83,27 @@ export default function UserListScreen() {
       }
 
       const data = await res.json();
-      setUsers(Array.isArray(data) ? data : []);
+      const items: User[] = Array.isArray(data?.items) ? data.items : [];
+
+      if (!cursor) {
+        listEtag.current = res.headers.get("ETag");
+      }
+
+      setUsers((prev) => (cursor ? [...prev, ...items] : items));
+      setNextCursor(data?.nextCursor ?? null);
     } catch {
       Alert.alert("Error", "Unable to load users");
     }
   };
 
+  const loadMore = async () => {
+    if (!nextCursor || loadingMore) return;
+
+    setLoadingMore(true);
+    await loadUsers(nextCursor);
+    setLoadingMore(false);
+  };
+
   const deleteUser = async (id: number) => {
     const token = await getToken();
 
@@ -123,6 +157,7 @@ export default function UserListScreen() {
   };
 
   const logout = async () => {
+    await revokeToken(await getToken());
     await clearStorage();
     router.replace("/(tabs)/LoginScreen");
   };
@@ -140,6 +175,8 @@ export default function UserListScreen() {
         data={users}
         keyExtractor={(item) => item.id.toString()}
         contentContainerStyle={{ padding: 15 }}
+        onEndReached={loadMore}
+        onEndReachedThreshold={0.5}
         ListEmptyComponent={
           <Text style={{ textAlign: "center", marginTop: 30 }}>
             No users found
@@ -0,0 +1,34 @@
+// Error bodies are { status, code, message }; fall back to raw text
+export const errorMessage = (body: string, fallback: string) => {
+  try {
+    const data = JSON.parse(body);
+    if (data && typeof data.message === "string" && data.message) {
+      return data.message;
+    }
+  } catch {
+    // not JSON
+  }
+  return body || fallback;
+};
+
+// Random key for Idempotency-Key; reuse it when retrying the same request
+export const newIdempotencyKey = () =>
+  `${Date.now().toString(36)}-${Math.random().toString(36).slice(2)}${Math.random()
+    .toString(36)
+    .slice(2)}`;
+
+// Revoke the stored token on the server; local state is cleared either way
+export const revokeToken = async (token: string | null) => {
+  if (!token) {
+    return;
+  }
+
+  try {
+    await fetch(`${process.env.EXPO_PUBLIC_API_URL}/api/auth/logout`, {
+      method: "POST",
+      headers: { Authorization: token },
+    });
+  } catch {
+    // offline: the token still expires on its own
+  }
+};